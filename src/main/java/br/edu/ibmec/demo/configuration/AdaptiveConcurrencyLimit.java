@@ -0,0 +1,89 @@
+package br.edu.ibmec.demo.configuration;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Limite de concorrência AIMD: cresce 1 a cada resposta rápida enquanto o limite está sendo usado e cai
+// multiplicativamente com respostas lentas (acima da latência alvo) ou com falha, no máximo uma vez por janela:
+// só reduz de novo a resposta de uma requisição que começou depois da última redução
+public class AdaptiveConcurrencyLimit {
+
+    private static final double FATOR_REDUCAO = 0.9;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaAlvoNanos;
+    private final LongSupplier relogio;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private volatile double limite;
+
+    // Ajustes do limite serializados por ReentrantLock (synchronized prenderia a virtual thread da requisição)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Instante (relógio em nanossegundos) da última redução; nenhuma redução ainda enquanto reduzido = false
+    private long ultimaReducao;
+    private boolean reduzido;
+
+    public AdaptiveConcurrencyLimit(int limiteInicial, int limiteMinimo, int limiteMaximo, Duration latenciaAlvo) {
+        this(limiteInicial, limiteMinimo, limiteMaximo, latenciaAlvo, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int limiteInicial, int limiteMinimo, int limiteMaximo, Duration latenciaAlvo,
+                             LongSupplier relogio) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos: mínimo " + limiteMinimo
+                    + ", máximo " + limiteMaximo);
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.latenciaAlvoNanos = latenciaAlvo.toNanos();
+        this.relogio = relogio;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+    }
+
+    // Reserva uma vaga; false quando o limite atual já foi atingido
+    public boolean tentarAdquirir() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= (int) limite) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Devolve a vaga e ajusta o limite pela latência observada
+    public void liberar(long latenciaNanos, boolean falha) {
+        int emAndamentoAntes = emAndamento.getAndDecrement();
+        long agora = relogio.getAsLong();
+        lock.lock();
+        try {
+            if (falha || latenciaNanos > latenciaAlvoNanos) {
+                // Requisições que já estavam em andamento na última redução refletem a sobrecarga que ela corrigiu
+                if (!reduzido || agora - latenciaNanos - ultimaReducao >= 0) {
+                    limite = Math.max(limiteMinimo, limite * FATOR_REDUCAO);
+                    ultimaReducao = agora;
+                    reduzido = true;
+                }
+            } else if (emAndamentoAntes * 2 >= limite) {
+                // Só cresce quando há demanda: com poucas requisições a latência não diz nada sobre o limite
+                limite = Math.min(limiteMaximo, limite + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+}
@@ -0,0 +1,37 @@
+package br.edu.ibmec.demo.configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // DTOs de cliente (com a lista de endereços) indexados pelo ID do cliente
+    public static final String CLIENTES = "clientes";
+
+    // DTOs de endereço indexados pelo ID do endereço
+    public static final String ENDERECOS = "enderecos";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${app.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CLIENTES, ENDERECOS);
+        cacheManager.setAllowNullValues(false);
+        // Limite por tamanho e por tempo; recordStats alimenta as métricas de hit/miss/eviction
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        // Evicções feitas dentro de uma transação só são aplicadas após o commit
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
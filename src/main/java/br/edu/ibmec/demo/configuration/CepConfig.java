@@ -0,0 +1,25 @@
+package br.edu.ibmec.demo.configuration;
+
+import br.edu.ibmec.demo.validation.CepIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class CepConfig {
+
+    // Índice de faixas de CEP montado na inicialização; um arquivo de faixas inválido impede a aplicação de subir
+    @Bean
+    public CepIndex cepIndex(@Value("${app.cep.data-file:classpath:cep/faixas-cep.csv}") Resource faixas)
+            throws IOException {
+        try (Reader reader = new InputStreamReader(faixas.getInputStream(), StandardCharsets.UTF_8)) {
+            return CepIndex.criar(reader);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.ibmec.demo.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+
+// Limite de concorrência adaptativo para /api/*, desligado com app.concurrency.enabled=false
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            Environment environment, MeterRegistry registry,
+            @Value("${app.concurrency.retry-after:1s}") Duration retryAfter,
+            @Value("${app.concurrency.excluded-paths:/api/clientes/batch,/api/clientes/export,/api/stream}")
+            List<String> caminhosIgnorados) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                limite(environment, "read", 50, 5, 200, Duration.ofMillis(250)),
+                limite(environment, "write", 20, 2, 100, Duration.ofMillis(500)),
+                retryAfter, caminhosIgnorados, registry);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        // Antes do roteamento leitura/escrita: requisições rejeitadas não tocam em nada do banco
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+
+    // Lê app.concurrency.<tipo>.initial-limit, .min-limit, .max-limit e .target-latency
+    private static AdaptiveConcurrencyLimit limite(Environment environment, String tipo, int inicial, int minimo,
+                                                   int maximo, Duration latenciaAlvo) {
+        String prefixo = "app.concurrency." + tipo + ".";
+        return new AdaptiveConcurrencyLimit(
+                environment.getProperty(prefixo + "initial-limit", Integer.class, inicial),
+                environment.getProperty(prefixo + "min-limit", Integer.class, minimo),
+                environment.getProperty(prefixo + "max-limit", Integer.class, maximo),
+                environment.getProperty(prefixo + "target-latency", Duration.class, latenciaAlvo));
+    }
+}
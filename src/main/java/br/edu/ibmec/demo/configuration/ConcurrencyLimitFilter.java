@@ -0,0 +1,92 @@
+package br.edu.ibmec.demo.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+// Descarte de carga na frente dos controllers: leituras e escritas têm limites adaptativos próprios, e o que passa
+// do limite recebe 503 imediato com Retry-After em vez de esperar por uma thread do Tomcat ou conexão do pool
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String MENSAGEM = "{\"message\":\"Servidor sobrecarregado. Tente novamente em instantes.\"}";
+
+    private static final Set<String> METODOS_SEGUROS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final AdaptiveConcurrencyLimit leitura;
+    private final AdaptiveConcurrencyLimit escrita;
+    private final String retryAfter;
+    private final List<String> caminhosIgnorados;
+    private final Counter leiturasRejeitadas;
+    private final Counter escritasRejeitadas;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit leitura, AdaptiveConcurrencyLimit escrita,
+                                  Duration retryAfter, List<String> caminhosIgnorados, MeterRegistry registry) {
+        this.leitura = leitura;
+        this.escrita = escrita;
+        this.retryAfter = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.caminhosIgnorados = caminhosIgnorados;
+        this.leiturasRejeitadas = registrarMetricas(registry, "read", leitura);
+        this.escritasRejeitadas = registrarMetricas(registry, "write", escrita);
+    }
+
+    // Lote e exportação são longos por natureza e distorceriam a latência usada para ajustar o limite
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return caminhosIgnorados.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean escritaRequisitada = !METODOS_SEGUROS.contains(request.getMethod());
+        AdaptiveConcurrencyLimit limite = escritaRequisitada ? escrita : leitura;
+
+        if (!limite.tentarAdquirir()) {
+            (escritaRequisitada ? escritasRejeitadas : leiturasRejeitadas).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(MENSAGEM);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean falha = true;
+        try {
+            filterChain.doFilter(request, response);
+            falha = response.getStatus() >= 500;
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, falha);
+        }
+    }
+
+    private static Counter registrarMetricas(MeterRegistry registry, String tipo, AdaptiveConcurrencyLimit limite) {
+        Gauge.builder("app.concurrency.limit", limite, AdaptiveConcurrencyLimit::getLimite)
+                .description("Limite atual de requisições simultâneas")
+                .tag("type", tipo)
+                .register(registry);
+        Gauge.builder("app.concurrency.inflight", limite, AdaptiveConcurrencyLimit::getEmAndamento)
+                .description("Requisições em andamento")
+                .tag("type", tipo)
+                .register(registry);
+        return Counter.builder("app.concurrency.rejected")
+                .description("Requisições rejeitadas com 503 por excesso de concorrência")
+                .tag("type", tipo)
+                .register(registry);
+    }
+}
@@ -0,0 +1,62 @@
+package br.edu.ibmec.demo.configuration;
+
+import br.edu.ibmec.demo.model.CacheRegions;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+
+// A coleção Cliente.enderecos é o lado inverso da associação: o Hibernate não a invalida no cache de segundo
+// nível quando um Endereco é criado, removido ou muda de cliente. Este listener remove a lista dos clientes
+// afetados no flush e de novo após o fim da transação (para que uma leitura concorrente não recoloque a
+// lista antiga), qualquer que seja o caminho da gravação (serviços ou repositórios)
+public class EnderecoCollectionCacheListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String CLIENTE = "cliente";
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Endereco) {
+            evict(event.getSession(), clienteId(event.getPersister(), event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Endereco) {
+            evict(event.getSession(), clienteId(event.getPersister(), event.getState()));
+            if (event.getOldState() != null) {
+                evict(event.getSession(), clienteId(event.getPersister(), event.getOldState()));
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Endereco) {
+            evict(event.getSession(), clienteId(event.getPersister(), event.getDeletedState()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private Long clienteId(EntityPersister persister, Object[] state) {
+        Object cliente = state[persister.getEntityMetamodel().getPropertyIndex(CLIENTE)];
+        // getId() não inicializa o proxy do cliente
+        return cliente instanceof Cliente ? ((Cliente) cliente).getId() : null;
+    }
+
+    private void evict(EventSource session, Long clienteId) {
+        if (clienteId == null) {
+            return;
+        }
+        org.hibernate.Cache cache = session.getFactory().getCache();
+        cache.evictCollectionData(CacheRegions.CLIENTE_ENDERECOS_ROLE, clienteId);
+        session.getActionQueue().registerProcess((success, s) ->
+                cache.evictCollectionData(CacheRegions.CLIENTE_ENDERECOS_ROLE, clienteId));
+    }
+}
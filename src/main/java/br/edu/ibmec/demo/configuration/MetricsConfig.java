@@ -0,0 +1,19 @@
+package br.edu.ibmec.demo.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Nome do timer dos métodos de serviço (tags class e method)
+    public static final String SERVICE_TIMER = "app.service";
+
+    // Habilita @Timed nos serviços
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
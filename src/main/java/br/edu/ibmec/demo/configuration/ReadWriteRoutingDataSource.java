@@ -0,0 +1,68 @@
+package br.edu.ibmec.demo.configuration;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+// Transações somente leitura vão para a réplica; as demais (e o que roda fora de transação) vão para o primário.
+// Precisa estar atrás de um LazyConnectionDataSourceProxy: o Hibernate pede a conexão no início da transação,
+// antes de o Spring marcar a transação como somente leitura
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    // Marcado pelo ReadYourWritesFilter para requisições que escreveram há pouco
+    private static final ThreadLocal<Boolean> PRIMARIO_OBRIGATORIO = new ThreadLocal<>();
+
+    static void usarPrimario() {
+        PRIMARIO_OBRIGATORIO.set(Boolean.TRUE);
+    }
+
+    static void limpar() {
+        PRIMARIO_OBRIGATORIO.remove();
+    }
+
+    public static boolean isPrimarioObrigatorio() {
+        return PRIMARIO_OBRIGATORIO.get() != null;
+    }
+
+    // Cargas que alimentam os caches compartilhados (DTOs e segundo nível) leem do primário mesmo em transação
+    // somente leitura: uma linha atrasada da réplica ficaria no cache até a próxima alteração.
+    // Precisa ser chamado antes do primeiro comando da transação (a conexão é escolhida nele)
+    public static <T> T noPrimario(Supplier<T> carga) {
+        if (isPrimarioObrigatorio()) {
+            return carga.get();
+        }
+        PRIMARIO_OBRIGATORIO.set(Boolean.TRUE);
+        try {
+            return carga.get();
+        } finally {
+            PRIMARIO_OBRIGATORIO.remove();
+        }
+    }
+
+    // Leituras que podem ir para a réplica só consultam o cache de segundo nível, sem gravar nele o que carregarem.
+    // Devolve o modo anterior, para ser restaurado no fim (com open-in-view a sessão segue na requisição)
+    public static CacheMode semAlimentarCache(EntityManager entityManager) {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode anterior = session.getCacheMode();
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !isPrimarioObrigatorio()) {
+            session.setCacheMode(CacheMode.GET);
+        }
+        return anterior;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARIO_OBRIGATORIO.get() == null) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
@@ -0,0 +1,68 @@
+package br.edu.ibmec.demo.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+// Ler as próprias escritas: depois de uma requisição de escrita o cliente recebe um cookie com o horário,
+// e as leituras dele vão para o primário até a janela passar (tempo para a réplica alcançar o primário)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "ultima-escrita";
+
+    private static final Set<String> METODOS_SEGUROS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration janela;
+
+    public ReadYourWritesFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long agora = System.currentTimeMillis();
+        boolean escrita = !METODOS_SEGUROS.contains(request.getMethod());
+        if (escrita) {
+            // Gravado antes do processamento: a resposta pode ser enviada antes de o filtro voltar a executar
+            Cookie cookie = new Cookie(COOKIE, String.valueOf(agora));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, janela.toSeconds() + 1));
+            response.addCookie(cookie);
+        }
+
+        if (escrita || dentroDaJanela(request, agora)) {
+            ReadWriteRoutingDataSource.usarPrimario();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.limpar();
+        }
+    }
+
+    private boolean dentroDaJanela(HttpServletRequest request, long agora) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return agora - Long.parseLong(cookie.getValue()) < janela.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
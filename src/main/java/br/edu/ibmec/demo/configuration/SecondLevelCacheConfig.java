@@ -0,0 +1,67 @@
+package br.edu.ibmec.demo.configuration;
+
+import br.edu.ibmec.demo.model.CacheRegions;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Cache de segundo nível (JCache/Caffeine em memória local) usado pelo Hibernate
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.l2cache.cliente.maximum-size:10000}") long clienteMaximumSize,
+            @Value("${app.l2cache.endereco.maximum-size:30000}") long enderecoMaximumSize,
+            @Value("${app.l2cache.cliente-enderecos.maximum-size:10000}") long clienteEnderecosMaximumSize,
+            @Value("${app.l2cache.expire-after-write:30m}") Duration expireAfterWrite) {
+        // Um CacheManager por contexto do Spring: contextos distintos (ex.: testes) não compartilham entidades
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("cloudav1-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        criarRegiao(cacheManager, CacheRegions.CLIENTE, clienteMaximumSize, expireAfterWrite);
+        criarRegiao(cacheManager, CacheRegions.ENDERECO, enderecoMaximumSize, expireAfterWrite);
+        criarRegiao(cacheManager, CacheRegions.CLIENTE_ENDERECOS, clienteEnderecosMaximumSize, expireAfterWrite);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    // Invalidação da lista de endereços do cliente quando um endereço muda
+    @Bean
+    public EnderecoCollectionCacheListener enderecoCollectionCacheListener(EntityManagerFactory entityManagerFactory) {
+        EnderecoCollectionCacheListener listener = new EnderecoCollectionCacheListener();
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        return listener;
+    }
+
+    private void criarRegiao(CacheManager cacheManager, String regiao, long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(regiao, configuration);
+    }
+}
@@ -0,0 +1,25 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ChangeFeedDTO;
+import br.edu.ibmec.demo.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    // Alterações de clientes e endereços em ordem estável (cursor "since" = nextCursor da consulta anterior)
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(@RequestParam(required = false) String since,
+                                                    @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+}
@@ -1,16 +1,30 @@
 package br.edu.ibmec.demo.controller;
 
+import br.edu.ibmec.demo.dto.BatchResultDTO;
 import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.ClienteSearchDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
+import br.edu.ibmec.demo.dto.EnderecoBulkResultDTO;
 import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.dto.SearchPageDTO;
+import br.edu.ibmec.demo.service.ClienteBatchService;
+import br.edu.ibmec.demo.service.ClienteSearchService;
 import br.edu.ibmec.demo.service.ClienteService;
 import br.edu.ibmec.demo.service.EnderecoService;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/clientes")
@@ -20,6 +34,12 @@ public class ClienteController {
     private ClienteService clienteService;
     @Autowired
     private EnderecoService enderecoService;
+    @Autowired
+    private ClienteBatchService clienteBatchService;
+    @Autowired
+    private ClienteSearchService clienteSearchService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     // Adicionar um novo cliente
     @PostMapping
@@ -28,25 +48,87 @@ public class ClienteController {
         return new ResponseEntity<>(novoClienteDTO, HttpStatus.CREATED);
     }
 
-    // Atualizar cliente existente
+    // Adicionar clientes em lote (erros são reportados por registro, sem abortar os válidos)
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> addClientesBatch(@RequestBody List<ClienteDTO> clientesDTO) {
+        BatchResultDTO resultado = clienteBatchService.addClientes(clientesDTO);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Atualizar cliente existente (If-Match opcional: 412 se o cliente mudou desde a leitura)
     @PutMapping("/{id}")
-    public ResponseEntity<ClienteDTO> updateCliente(@PathVariable Long id, @Valid @RequestBody ClienteDTO clienteDetailsDTO) {
-        ClienteDTO clienteAtualizadoDTO = clienteService.updateCliente(id, clienteDetailsDTO);
-        return ResponseEntity.ok(clienteAtualizadoDTO);
+    public ResponseEntity<ClienteDTO> updateCliente(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @Valid @RequestBody ClienteDTO clienteDetailsDTO) {
+        ClienteDTO clienteAtualizadoDTO = clienteService.updateCliente(id, clienteDetailsDTO, versaoEsperada(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.cliente(clienteAtualizadoDTO))
+                .body(clienteAtualizadoDTO);
+    }
+
+    // Atualização parcial (JSON merge-patch): só os campos enviados são validados e gravados (If-Match opcional)
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ClienteDTO> patchCliente(@PathVariable Long id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                   @RequestBody JsonNode patch) {
+        Set<String> campos = MergePatch.campos(patch);
+        ClienteDTO clienteAtualizadoDTO = clienteService.patchCliente(id,
+                MergePatch.valores(objectMapper, patch, ClienteDTO.class), campos, versaoEsperada(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.cliente(clienteAtualizadoDTO))
+                .body(clienteAtualizadoDTO);
+    }
+
+    // Versão esperada pelo If-Match (null sem o cabeçalho)
+    private Long versaoEsperada(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        // Compara com a representação atual (cache de DTOs); a versão é conferida de novo no UPDATE
+        ClienteDTO atual = clienteService.getClienteById(id);
+        if (!ETags.corresponde(ifMatch, ETags.cliente(atual))) {
+            throw new PreconditionFailedException("O cliente foi alterado desde a última leitura (If-Match).");
+        }
+        return atual.getVersion();
     }
 
-    // Buscar todos os clientes
+    // Buscar clientes paginados (cursor "after" = ID do último cliente recebido)
     @GetMapping
-    public ResponseEntity<List<ClienteDTO>> getAllClientes() {
-        List<ClienteDTO> clientes = clienteService.getAllClientes();
+    public ResponseEntity<CursorPageDTO<ClienteDTO>> getAllClientes(@RequestParam(required = false) Long after,
+                                                                    @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<ClienteDTO> clientes = clienteService.getAllClientes(after, limit);
         return ResponseEntity.ok(clientes);
     }
 
-    // Buscar cliente por ID
+    // Buscar clientes por prefixo do nome, email, CPF, cidade, estado e prefixo de CEP
+    // (sort = id, -id, name ou -name; "after" = nextCursor da página anterior)
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<ClienteDTO>> searchClientes(ClienteSearchDTO filtro,
+                                                                    @RequestParam(defaultValue = "id") String sort,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "20") int limit) {
+        SearchPageDTO<ClienteDTO> clientes = clienteSearchService.searchClientes(filtro, sort, after, limit);
+        return ResponseEntity.ok(clientes);
+    }
+
+    // Exportar todos os clientes com endereços em NDJSON; "after" retoma a partir do último ID recebido
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClientes(@RequestParam(required = false) Long after) {
+        StreamingResponseBody body = out -> clienteService.exportClientes(after, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Buscar cliente por ID (If-None-Match com a ETag atual devolve 304 sem corpo; Vary porque a mesma ETag
+    // vale para JSON, Smile e CBOR e um cache não pode devolver um formato a quem pediu outro)
     @GetMapping("/{id}")
     public ResponseEntity<ClienteDTO> getClienteById(@PathVariable Long id) {
         ClienteDTO clienteDTO = clienteService.getClienteById(id);
-        return ResponseEntity.ok(clienteDTO);
+        return ResponseEntity.ok()
+                .eTag(ETags.cliente(clienteDTO))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(clienteDTO);
     }
 
     // Deletar cliente por ID
@@ -62,6 +144,22 @@ public class ClienteController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    // Associar vários endereços existentes ao cliente (corpo: lista de IDs; resultado por ID)
+    @PostMapping("/{clienteId}/enderecos/attach")
+    public ResponseEntity<EnderecoBulkResultDTO> associarEnderecos(@PathVariable Long clienteId,
+                                                                   @RequestBody List<Long> enderecoIds) {
+        EnderecoBulkResultDTO resultado = clienteService.associarEnderecos(clienteId, enderecoIds);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Desassociar vários endereços do cliente (corpo: lista de IDs; resultado por ID)
+    @PostMapping("/{clienteId}/enderecos/detach")
+    public ResponseEntity<EnderecoBulkResultDTO> desassociarEnderecos(@PathVariable Long clienteId,
+                                                                      @RequestBody List<Long> enderecoIds) {
+        EnderecoBulkResultDTO resultado = clienteService.desassociarEnderecos(clienteId, enderecoIds);
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping("/{id}/enderecos")
     public List<EnderecoDTO> getEnderecosByClienteId(@PathVariable Long id) {
         return enderecoService.getEnderecosByClienteId(id);
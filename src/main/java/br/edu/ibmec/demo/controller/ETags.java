@@ -0,0 +1,47 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+
+import java.util.List;
+
+// ETags fortes calculadas a partir das versões (@Version), sem serializar o corpo da resposta
+final class ETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    // Endereço: a versão muda a cada UPDATE
+    static String endereco(EnderecoDTO enderecoDTO) {
+        return "\"" + enderecoDTO.getVersion() + "\"";
+    }
+
+    // Cliente: a versão do cliente não muda quando seus endereços mudam (lado inverso da associação),
+    // então a ETag inclui também o ID e a versão de cada endereço, na ordem da resposta
+    static String cliente(ClienteDTO clienteDTO) {
+        List<EnderecoDTO> enderecos = clienteDTO.getEnderecos();
+        if (enderecos == null || enderecos.isEmpty()) {
+            return "\"" + clienteDTO.getVersion() + "\"";
+        }
+        long hash = FNV_OFFSET;
+        for (EnderecoDTO endereco : enderecos) {
+            hash = (hash ^ endereco.getId()) * FNV_PRIME;
+            hash = (hash ^ endereco.getVersion()) * FNV_PRIME;
+        }
+        return "\"" + clienteDTO.getVersion() + "-" + enderecos.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // If-Match: lista de ETags separadas por vírgula ou "*"; ETags fracas (W/) nunca correspondem
+    static boolean corresponde(String ifMatch, String etag) {
+        for (String candidata : ifMatch.split(",")) {
+            String valor = candidata.trim();
+            if (valor.equals("*") || valor.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
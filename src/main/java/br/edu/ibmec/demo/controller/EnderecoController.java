@@ -1,14 +1,24 @@
 package br.edu.ibmec.demo.controller;
 
+import br.edu.ibmec.demo.dto.CepDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
 import br.edu.ibmec.demo.dto.EnderecoDTO;
 import br.edu.ibmec.demo.service.EnderecoService;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/enderecos")
@@ -16,6 +26,8 @@ public class EnderecoController {
 
     @Autowired
     private EnderecoService enderecoService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     // Adicionar um novo endereço
     @PostMapping
@@ -24,25 +36,72 @@ public class EnderecoController {
         return new ResponseEntity<>(novoEnderecoDTO, HttpStatus.CREATED);
     }
 
-    // Atualizar endereço existente
+    // Atualizar endereço existente (If-Match opcional: 412 se o endereço mudou desde a leitura)
     @PutMapping("/{id}")
-    public ResponseEntity<EnderecoDTO> updateEndereco(@PathVariable Long id, @Valid @RequestBody EnderecoDTO enderecoDetailsDTO) {
-        EnderecoDTO enderecoAtualizadoDTO = enderecoService.updateEndereco(id, enderecoDetailsDTO);
-        return ResponseEntity.ok(enderecoAtualizadoDTO);
+    public ResponseEntity<EnderecoDTO> updateEndereco(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @Valid @RequestBody EnderecoDTO enderecoDetailsDTO) {
+        EnderecoDTO enderecoAtualizadoDTO = enderecoService.updateEndereco(id, enderecoDetailsDTO,
+                versaoEsperada(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.endereco(enderecoAtualizadoDTO))
+                .body(enderecoAtualizadoDTO);
+    }
+
+    // Atualização parcial (JSON merge-patch): só os campos enviados são validados e gravados (If-Match opcional)
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<EnderecoDTO> patchEndereco(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @RequestBody JsonNode patch) {
+        Set<String> campos = MergePatch.campos(patch);
+        EnderecoDTO enderecoAtualizadoDTO = enderecoService.patchEndereco(id,
+                MergePatch.valores(objectMapper, patch, EnderecoDTO.class), campos, versaoEsperada(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.endereco(enderecoAtualizadoDTO))
+                .body(enderecoAtualizadoDTO);
     }
 
-    // Buscar todos os endereços
+    // Versão esperada pelo If-Match (null sem o cabeçalho)
+    private Long versaoEsperada(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        // Compara com a representação atual (cache de DTOs); a versão é conferida de novo no UPDATE
+        EnderecoDTO atual = enderecoService.getEnderecoById(id);
+        if (!ETags.corresponde(ifMatch, ETags.endereco(atual))) {
+            throw new PreconditionFailedException("O endereço foi alterado desde a última leitura (If-Match).");
+        }
+        return atual.getVersion();
+    }
+
+    // Buscar endereços paginados (cursor "after" = ID do último endereço recebido)
     @GetMapping
-    public ResponseEntity<List<EnderecoDTO>> getAllEnderecos() {
-        List<EnderecoDTO> enderecos = enderecoService.getAllEnderecos();
+    public ResponseEntity<CursorPageDTO<EnderecoDTO>> getAllEnderecos(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(defaultValue = "20") int limit) {
+        CursorPageDTO<EnderecoDTO> enderecos = enderecoService.getAllEnderecos(after, limit);
         return ResponseEntity.ok(enderecos);
     }
 
-    // Buscar endereço por ID
+    // Buscar endereço por ID (If-None-Match com a ETag atual devolve 304 sem corpo; Vary pelo mesmo motivo do
+    // cliente: a ETag não muda com o formato negociado)
     @GetMapping("/{id}")
     public ResponseEntity<EnderecoDTO> getEnderecoById(@PathVariable Long id) {
         EnderecoDTO enderecoDTO = enderecoService.getEnderecoById(id);
-        return ResponseEntity.ok(enderecoDTO);
+        return ResponseEntity.ok()
+                .eTag(ETags.endereco(enderecoDTO))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(enderecoDTO);
+    }
+
+    // Autocompletar UF e cidade a partir do CEP (dados de referência: podem ficar em cache no cliente;
+    // Vary porque o mesmo CEP pode ser servido em JSON, Smile ou CBOR)
+    @GetMapping("/cep/{cep}")
+    public ResponseEntity<CepDTO> buscarCep(@PathVariable String cep) {
+        CepDTO cepDTO = enderecoService.buscarCep(cep);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(cepDTO);
     }
 
     // Deletar endereço por ID
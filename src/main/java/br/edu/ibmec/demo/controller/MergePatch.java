@@ -0,0 +1,37 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// Corpo de PATCH no formato JSON merge-patch (RFC 7396): um objeto só com os campos a alterar; null remove o valor
+final class MergePatch {
+
+    static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private MergePatch() {
+    }
+
+    // Nomes dos campos presentes no corpo (inclusive os enviados como null)
+    static Set<String> campos(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("O corpo do PATCH deve ser um objeto JSON.");
+        }
+        Set<String> campos = new LinkedHashSet<>();
+        patch.fieldNames().forEachRemaining(campos::add);
+        return campos;
+    }
+
+    // Valores tipados dos campos enviados (os ausentes ficam null e são ignorados pelo serviço)
+    static <T> T valores(ObjectMapper objectMapper, JsonNode patch, Class<T> tipo) {
+        try {
+            return objectMapper.treeToValue(patch, tipo);
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Valor inválido no PATCH: " + e.getOriginalMessage());
+        }
+    }
+}
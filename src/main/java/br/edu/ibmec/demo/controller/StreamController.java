@@ -0,0 +1,25 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.service.ChangeStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stream")
+public class StreamController {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    // Eventos "change" (mesmo formato dos itens de /api/changes) a cada alteração confirmada; reconexões com
+    // Last-Event-ID recebem os eventos perdidos
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeStreamService.assinar(lastEventId);
+    }
+}
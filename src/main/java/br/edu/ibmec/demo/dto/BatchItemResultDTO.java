@@ -0,0 +1,70 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.Map;
+
+public class BatchItemResultDTO {
+
+    public static final String CREATED = "CREATED";
+    public static final String ERROR = "ERROR";
+
+    // Posição do registro na lista enviada
+    private int index;
+
+    private String status;
+
+    private Long id;
+
+    private Map<String, String> errors;
+
+    public BatchItemResultDTO() {
+    }
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        BatchItemResultDTO item = new BatchItemResultDTO();
+        item.setIndex(index);
+        item.setStatus(CREATED);
+        item.setId(id);
+        return item;
+    }
+
+    public static BatchItemResultDTO error(int index, Map<String, String> errors) {
+        BatchItemResultDTO item = new BatchItemResultDTO();
+        item.setIndex(index);
+        item.setStatus(ERROR);
+        item.setErrors(errors);
+        return item;
+    }
+
+    // Getters e Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
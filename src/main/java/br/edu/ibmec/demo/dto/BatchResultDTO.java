@@ -0,0 +1,59 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.List;
+
+public class BatchResultDTO {
+
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private List<BatchItemResultDTO> results;
+
+    public BatchResultDTO() {
+    }
+
+    public BatchResultDTO(List<BatchItemResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.created = (int) results.stream()
+                .filter(item -> BatchItemResultDTO.CREATED.equals(item.getStatus()))
+                .count();
+        this.failed = total - created;
+    }
+
+    // Getters e Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResultDTO> results) {
+        this.results = results;
+    }
+}
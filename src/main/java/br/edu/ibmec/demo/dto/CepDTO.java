@@ -0,0 +1,45 @@
+package br.edu.ibmec.demo.dto;
+
+public class CepDTO {
+
+    private String cep;
+
+    private String state;
+
+    // Nulo quando a faixa de referência só identifica a UF
+    private String city;
+
+    public CepDTO() {
+    }
+
+    public CepDTO(String cep, String state, String city) {
+        this.cep = cep;
+        this.state = state;
+        this.city = city;
+    }
+
+    // Getters e Setters
+    public String getCep() {
+        return cep;
+    }
+
+    public void setCep(String cep) {
+        this.cep = cep;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+}
@@ -0,0 +1,132 @@
+package br.edu.ibmec.demo.dto;
+
+import br.edu.ibmec.demo.model.Tombstone;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+// Uma alteração do feed: estado atual do cliente/endereço (UPSERT) ou remoção (DELETE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeDTO {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+
+    // Cursor desta alteração: retomar a partir dele devolve só as alterações seguintes
+    private String cursor;
+
+    // CLIENTE, ENDERECO ou CLIENTE_ENDERECO (fim da associação de um endereço ao cliente)
+    private String type;
+
+    private String operation;
+
+    // ID do cliente ou do endereço
+    private Long id;
+
+    // Cliente dono do endereço (ausente em clientes e em endereços sem cliente)
+    private Long clienteId;
+
+    private Instant changedAt;
+
+    // Estado atual (só em UPSERT; ausente nas mudanças de associação do stream, que trazem só os IDs).
+    // Os endereços do cliente chegam como alterações próprias
+    private ClienteDTO cliente;
+
+    private EnderecoDTO endereco;
+
+    public ChangeDTO() {
+    }
+
+    public ChangeDTO(String type, String operation, Long id, Long clienteId, Instant changedAt) {
+        this.type = type;
+        this.operation = operation;
+        this.id = id;
+        this.clienteId = clienteId;
+        this.changedAt = changedAt;
+    }
+
+    // Cliente criado ou alterado, com o estado gravado
+    public static ChangeDTO upsert(ClienteDTO cliente) {
+        ChangeDTO change = new ChangeDTO(Tombstone.CLIENTE, UPSERT, cliente.getId(), null, cliente.getUpdatedAt());
+        change.setCliente(cliente);
+        return change;
+    }
+
+    // Endereço criado ou alterado, com o estado gravado
+    public static ChangeDTO upsert(EnderecoDTO endereco, Long clienteId) {
+        ChangeDTO change = new ChangeDTO(Tombstone.ENDERECO, UPSERT, endereco.getId(), clienteId, endereco.getUpdatedAt());
+        change.setEndereco(endereco);
+        return change;
+    }
+
+    // Remoção registrada no tombstone
+    public static ChangeDTO delete(Tombstone tombstone) {
+        return new ChangeDTO(tombstone.getEntityType(), DELETE, tombstone.getEntityId(), tombstone.getClienteId(),
+                tombstone.getDeletedAt());
+    }
+
+    // Getters e Setters
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(Instant changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public ClienteDTO getCliente() {
+        return cliente;
+    }
+
+    public void setCliente(ClienteDTO cliente) {
+        this.cliente = cliente;
+    }
+
+    public EnderecoDTO getEndereco() {
+        return endereco;
+    }
+
+    public void setEndereco(EnderecoDTO endereco) {
+        this.endereco = endereco;
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.List;
+
+public class ChangeFeedDTO {
+
+    private List<ChangeDTO> items;
+
+    // Cursor a ser enviado em "since" na próxima consulta (o mesmo recebido quando não houve alterações)
+    private String nextCursor;
+
+    // Há mais alterações disponíveis agora: a próxima página pode ser pedida sem esperar
+    private boolean hasMore;
+
+    private int limit;
+
+    public ChangeFeedDTO() {
+    }
+
+    public ChangeFeedDTO(List<ChangeDTO> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters e Setters
+    public List<ChangeDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ChangeDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
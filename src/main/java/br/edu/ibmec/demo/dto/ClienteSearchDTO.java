@@ -0,0 +1,71 @@
+package br.edu.ibmec.demo.dto;
+
+// Filtros da busca de clientes (todos opcionais e combinados com E)
+public class ClienteSearchDTO {
+
+    // Prefixo do nome
+    private String name;
+
+    private String email;
+
+    private String cpf;
+
+    // Cidade, estado e prefixo de CEP de algum endereço do cliente (o mesmo endereço atende a todos)
+    private String city;
+
+    private String state;
+
+    private String zipCode;
+
+    public ClienteSearchDTO() {
+    }
+
+    // Getters e Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getCpf() {
+        return cpf;
+    }
+
+    public void setCpf(String cpf) {
+        this.cpf = cpf;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public void setZipCode(String zipCode) {
+        this.zipCode = zipCode;
+    }
+}
@@ -0,0 +1,47 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // ID a ser enviado em "after" para buscar a próxima página (nulo quando não há mais itens)
+    private Long nextCursor;
+
+    private int limit;
+
+    public CursorPageDTO() {
+    }
+
+    public CursorPageDTO(List<T> items, Long nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // Getters e Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
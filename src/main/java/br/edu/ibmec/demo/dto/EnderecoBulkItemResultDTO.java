@@ -0,0 +1,52 @@
+package br.edu.ibmec.demo.dto;
+
+public class EnderecoBulkItemResultDTO {
+
+    // Endereço associado/desassociado pelo UPDATE
+    public static final String UPDATED = "UPDATED";
+    // Endereço já estava na situação pedida
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    // Desassociação de endereço que não pertence ao cliente
+    public static final String NOT_ASSOCIATED = "NOT_ASSOCIATED";
+
+    private Long id;
+
+    private String status;
+
+    private String message;
+
+    public EnderecoBulkItemResultDTO() {
+    }
+
+    public EnderecoBulkItemResultDTO(Long id, String status, String message) {
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,62 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.List;
+
+public class EnderecoBulkResultDTO {
+
+    private int total;
+
+    private int updated;
+
+    private int failed;
+
+    private List<EnderecoBulkItemResultDTO> results;
+
+    public EnderecoBulkResultDTO() {
+    }
+
+    public EnderecoBulkResultDTO(List<EnderecoBulkItemResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.updated = (int) results.stream()
+                .filter(item -> EnderecoBulkItemResultDTO.UPDATED.equals(item.getStatus()))
+                .count();
+        this.failed = (int) results.stream()
+                .filter(item -> EnderecoBulkItemResultDTO.NOT_FOUND.equals(item.getStatus())
+                        || EnderecoBulkItemResultDTO.NOT_ASSOCIATED.equals(item.getStatus()))
+                .count();
+    }
+
+    // Getters e Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<EnderecoBulkItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EnderecoBulkItemResultDTO> results) {
+        this.results = results;
+    }
+}
@@ -1,32 +1,29 @@
 package br.edu.ibmec.demo.dto;
 
-import jakarta.validation.constraints.*;
+import br.edu.ibmec.demo.validation.EnderecoValido;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.Instant;
+
+// Regras de validação centralizadas no EnderecoValidator (sem regex por campo)
+@EnderecoValido
 public class EnderecoDTO {
 
     private Long id;
-    @NotBlank(message = "Rua é obrigatória")
-    @Size(min = 3, max = 255, message = "Rua deve ter entre 3 e 255 caracteres")
+    // Somente leitura: a atualização usa a versão informada no cabeçalho If-Match
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Somente leitura: preenchidos na gravação (criação e cada alteração)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant createdAt;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
     private String street;
-
-    @NotBlank(message = "Número é obrigatório")
-    @Pattern(regexp = "^[\\d\\w]+$", message = "Número deve ser um valor numérico ou alfanumérico")
     private String number;
-
-    @NotBlank(message = "Bairro é obrigatório")
-    @Size(min = 3, max = 100, message = "Bairro deve ter entre 3 e 100 caracteres")
     private String neighborhood;
-
-    @NotBlank(message = "Cidade é obrigatória")
-    @Size(min = 2, max = 100, message = "Cidade deve ter entre 2 e 100 caracteres")
     private String city;
-
-    @NotBlank(message = "Estado é obrigatório")
-    @Pattern(regexp = "^(AC|AL|AP|AM|BA|CE|DF|ES|GO|MA|MT|MS|MG|PA|PB|PR|PE|PI|RJ|RN|RS|RO|RR|SC|SP|SE|TO)$", message = "Estado deve ser válido (ex.: SP, RJ)")
     private String state;
-
-    @NotBlank(message = "CEP é obrigatório")
-    @Pattern(regexp = "\\d{5}-\\d{3}", message = "CEP deve seguir o padrão XXXXX-XXX")
     private String zipCode;
 
     public EnderecoDTO() {
@@ -85,4 +82,28 @@ public class EnderecoDTO {
     }
 
     public Long getId() { return id; }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
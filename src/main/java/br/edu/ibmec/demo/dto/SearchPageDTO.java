@@ -0,0 +1,47 @@
+package br.edu.ibmec.demo.dto;
+
+import java.util.List;
+
+public class SearchPageDTO<T> {
+
+    private List<T> items;
+
+    // Cursor opaco a ser enviado em "after" para buscar a próxima página (nulo quando não há mais itens)
+    private String nextCursor;
+
+    private int limit;
+
+    public SearchPageDTO() {
+    }
+
+    public SearchPageDTO(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.limit = limit;
+    }
+
+    // Getters e Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -3,9 +3,24 @@ package br.edu.ibmec.demo.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.Map;
+
 @ResponseStatus(HttpStatus.BAD_REQUEST)
 public class BadRequestException extends RuntimeException {
+
+    // Erros por campo (vazio quando o erro não se refere a campos específicos)
+    private final Map<String, String> errors;
+
     public BadRequestException(String message) {
+        this(message, Map.of());
+    }
+
+    public BadRequestException(String message, Map<String, String> errors) {
         super(message);
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
     }
 }
@@ -0,0 +1,15 @@
+package br.edu.ibmec.demo.model;
+
+// Regiões do cache de segundo nível do Hibernate (configuradas em SecondLevelCacheConfig)
+public final class CacheRegions {
+
+    public static final String CLIENTE = "cliente";
+    public static final String ENDERECO = "endereco";
+    public static final String CLIENTE_ENDERECOS = "cliente.enderecos";
+
+    // Papel (role) da coleção no Hibernate, usado para invalidar a lista de endereços de um cliente
+    public static final String CLIENTE_ENDERECOS_ROLE = "br.edu.ibmec.demo.model.Cliente.enderecos";
+
+    private CacheRegions() {
+    }
+}
@@ -2,15 +2,55 @@ package br.edu.ibmec.demo.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLIENTE)
+// O UPDATE leva só as colunas alteradas (mais version e updated_at), não a linha inteira
+@DynamicUpdate
+@Table(name = "cliente", uniqueConstraints = {
+        // Os índices únicos são a fonte da verdade para a unicidade de email e CPF
+        @UniqueConstraint(name = ClienteConstraints.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = ClienteConstraints.UK_CPF, columnNames = "cpf")
+}, indexes = {
+        // Busca por prefixo do nome e paginação ordenada por (name, id)
+        @Index(name = "idx_cliente_name", columnList = "name, id"),
+        // Feed de alterações: leitura ordenada por (updated_at, id) a partir do cursor
+        @Index(name = "idx_cliente_updated_at", columnList = "updated_at, id")
+})
 public class Cliente {
+    // IDs reservados em blocos (pooled-lo), o que permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private Long id;
 
+    // Versão para controle otimista (gera a ETag do cliente); linhas já existentes começam em 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    // Criação e última alteração (relógio da aplicação, em microssegundos); updatedAt ordena o feed de alterações
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     private String name;
 
     private String email;
@@ -22,7 +62,10 @@ public class Cliente {
 
     private String phone;
 
+    // Coleções ainda não carregadas são buscadas em lote (um SELECT ... IN para até 100 clientes)
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL, orphanRemoval = false)
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CLIENTE_ENDERECOS)
     private List<Endereco> enderecos;
 
 
@@ -39,6 +82,30 @@ public class Cliente {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,11 @@
+package br.edu.ibmec.demo.model;
+
+// Nomes das restrições do banco na tabela cliente (usados para traduzir violações em mensagens)
+public final class ClienteConstraints {
+
+    public static final String UK_EMAIL = "uk_cliente_email";
+    public static final String UK_CPF = "uk_cliente_cpf";
+
+    private ClienteConstraints() {
+    }
+}
@@ -1,38 +1,62 @@
 package br.edu.ibmec.demo.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@Table(name = "endereco", indexes = {
+        // Endereços de um cliente (coleção Cliente.enderecos, associação em massa)
+        @Index(name = "idx_endereco_cliente_id", columnList = "cliente_id"),
+        // Busca de clientes por cidade, estado e prefixo de CEP (a subconsulta devolve cliente_id pelo próprio índice)
+        @Index(name = "idx_endereco_city", columnList = "city, cliente_id"),
+        @Index(name = "idx_endereco_state", columnList = "state, cliente_id"),
+        @Index(name = "idx_endereco_zip_code", columnList = "zip_code, cliente_id"),
+        // Feed de alterações: leitura ordenada por (updated_at, id) a partir do cursor
+        @Index(name = "idx_endereco_updated_at", columnList = "updated_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ENDERECO)
+// O UPDATE leva só as colunas alteradas (mais version e updated_at), não a linha inteira
+@DynamicUpdate
 public class Endereco {
+    // IDs reservados em blocos (pooled-lo), o que permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
-    @NotBlank(message = "Rua é obrigatória")
-    @Size(min = 3, max = 255, message = "Rua deve ter entre 3 e 255 caracteres")
-    private String street;
+    // Versão para controle otimista (gera a ETag do endereço); linhas já existentes começam em 0
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
-    @NotBlank(message = "Número é obrigatório")
-    private String number;
+    // Criação e última alteração (relógio da aplicação, em microssegundos); updatedAt ordena o feed de alterações
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
 
-    @NotBlank(message = "Bairro é obrigatório")
-    @Size(min = 3, max = 100, message = "Bairro deve ter entre 3 e 100 caracteres")
-    private String neighborhood;
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
 
-    @NotBlank(message = "Cidade é obrigatória")
-    @Size(min = 2, max = 100, message = "Cidade deve ter entre 2 e 100 caracteres")
+    // Regras dos campos de endereço só no EnderecoValidator (DTO via @EnderecoValido e EnderecoService)
+    private String street;
+    private String number;
+    private String neighborhood;
     private String city;
-
-    @NotBlank(message = "Estado é obrigatório")
     private String state;
-
-    @NotBlank(message = "CEP é obrigatório")
-    @Pattern(regexp = "\\d{5}-\\d{3}", message = "CEP deve seguir o padrão XXXXX-XXX")
     private String zipCode;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id")
     private Cliente cliente;
 
@@ -45,6 +69,30 @@ public class Endereco {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -0,0 +1,90 @@
+package br.edu.ibmec.demo.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Registro de remoção para o feed de alterações: a linha removida some do banco, o tombstone fica
+@Entity
+@Table(name = "tombstone", indexes = {
+        // Feed de alterações: leitura ordenada por (deleted_at, id) a partir do cursor
+        @Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at, id")
+})
+public class Tombstone {
+
+    public static final String CLIENTE = "CLIENTE";
+    public static final String ENDERECO = "ENDERECO";
+    // Fim da associação endereço-cliente (o endereço continua existindo, sem cliente)
+    public static final String CLIENTE_ENDERECO = "CLIENTE_ENDERECO";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tombstone_seq")
+    @SequenceGenerator(name = "tombstone_seq", sequenceName = "tombstone_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Cliente dono do endereço removido (ou de quem o endereço foi desassociado)
+    @Column(name = "cliente_id")
+    private Long clienteId;
+
+    // Definido na criação (e não na gravação) para que o evento da remoção já saia com o instante
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private Instant deletedAt;
+
+    // Construtor
+    public Tombstone() {
+    }
+
+    public Tombstone(String entityType, Long entityId, Long clienteId) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.clienteId = clienteId;
+        this.deletedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Instant deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package br.edu.ibmec.demo.repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Colunas do cliente lidas direto da consulta (sem entidade gerenciada, proxy ou snapshot para dirty checking)
+public record ClienteProjection(Long id, Long version, String name, String email, String cpf,
+                                LocalDate birthDate, String phone, Instant createdAt, Instant updatedAt) {
+}
@@ -1,11 +1,68 @@
 package br.edu.ibmec.demo.repository;
 
 import br.edu.ibmec.demo.model.Cliente;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+public interface ClienteRepository extends JpaRepository<Cliente, Long>, JpaSpecificationExecutor<Cliente> {
     Optional<Cliente> findByEmail(String email);
     Optional<Cliente> findByCpf(String cpf);
-}
\ No newline at end of file
+
+    // Clientes que já usam o email ou o CPF informados (uma única consulta pelos índices únicos)
+    @Query("select c from Cliente c where c.email = :email or c.cpf = :cpf")
+    List<Cliente> findByEmailOrCpf(@Param("email") String email, @Param("cpf") String cpf);
+
+    // Cliente com seus endereços carregados no mesmo SELECT (LEFT JOIN); a consulta não passa pelo cache de segundo
+    // nível, então só vale quando o cliente não está nele
+    @EntityGraph(attributePaths = "enderecos")
+    Optional<Cliente> findWithEnderecosById(Long id);
+
+    // Emails e CPFs já cadastrados dentre os informados (usado no cadastro em lote)
+    @Query("select c.email from Cliente c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select c.cpf from Cliente c where c.cpf in :cpfs")
+    List<String> findExistingCpfs(@Param("cpfs") Collection<String> cpfs);
+
+    // Cursor somente-avançar para exportação: as linhas chegam do banco em blocos, sob demanda
+    // (no MySQL requer useCursorFetch=true na conexão para respeitar o fetch size)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Cliente c where c.id > :after order by c.id")
+    Stream<Cliente> streamByIdGreaterThan(@Param("after") Long after);
+
+    // Paginação por cursor (keyset), como projeção: busca pelo índice da PK a partir do último ID retornado
+    @Query("select new br.edu.ibmec.demo.repository.ClienteProjection(c.id, c.version, c.name, c.email, c.cpf, "
+            + "c.birthDate, c.phone, c.createdAt, c.updatedAt) from Cliente c where c.id > :after order by c.id")
+    List<ClienteProjection> findProjectionsAfter(@Param("after") Long after, Limit limit);
+
+    // Feed de alterações: clientes alterados depois do cursor (updatedAt, id) e até o instante "ate", nessa ordem
+    @Query("select new br.edu.ibmec.demo.repository.ClienteProjection(c.id, c.version, c.name, c.email, c.cpf, "
+            + "c.birthDate, c.phone, c.createdAt, c.updatedAt) from Cliente c "
+            + "where (c.updatedAt > :desde or (c.updatedAt = :desde and c.id > :depoisDe)) and c.updatedAt <= :ate "
+            + "order by c.updatedAt, c.id")
+    List<ClienteProjection> findChangedAfter(@Param("desde") Instant desde, @Param("depoisDe") Long depoisDe,
+                                             @Param("ate") Instant ate, Limit limit);
+
+    // Busca com filtros combinados (ClienteSpecifications), ordenação e limite, sem consulta de contagem
+    default List<Cliente> search(Specification<Cliente> filtros, Sort sort, int limit) {
+        return findBy(filtros, query -> query.sortBy(sort).limit(limit).all());
+    }
+}
@@ -0,0 +1,73 @@
+package br.edu.ibmec.demo.repository;
+
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Filtros da busca de clientes; cada um corresponde a um índice (ver @Table em Cliente e Endereco)
+public final class ClienteSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private ClienteSpecifications() {
+    }
+
+    // name LIKE 'prefixo%' (usa idx_cliente_name)
+    public static Specification<Cliente> nomeComecaCom(String prefixo) {
+        return (root, query, cb) -> cb.like(root.get("name"), escaparLike(prefixo) + "%", ESCAPE);
+    }
+
+    // Igualdade nos índices únicos
+    public static Specification<Cliente> emailIgual(String email) {
+        return (root, query, cb) -> cb.equal(root.get("email"), email);
+    }
+
+    public static Specification<Cliente> cpfIgual(String cpf) {
+        return (root, query, cb) -> cb.equal(root.get("cpf"), cpf);
+    }
+
+    // id IN (SELECT cliente_id FROM endereco WHERE ...): sem JOIN, então sem clientes repetidos na página,
+    // e a subconsulta é resolvida pelos índices (city|state|zip_code, cliente_id)
+    public static Specification<Cliente> comEndereco(String cidade, String estado, String prefixoCep) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Endereco> endereco = subquery.from(Endereco.class);
+            List<Predicate> condicoes = new ArrayList<>();
+            if (cidade != null) {
+                condicoes.add(cb.equal(endereco.get("city"), cidade));
+            }
+            if (estado != null) {
+                condicoes.add(cb.equal(endereco.get("state"), estado));
+            }
+            if (prefixoCep != null) {
+                condicoes.add(cb.like(endereco.get("zipCode"), escaparLike(prefixoCep) + "%", ESCAPE));
+            }
+            subquery.select(endereco.get("cliente").get("id")).where(condicoes.toArray(new Predicate[0]));
+            return root.get("id").in(subquery);
+        };
+    }
+
+    // Keyset: registros depois do último da página anterior na ordenação por ID
+    public static Specification<Cliente> idDepoisDe(Long id, boolean decrescente) {
+        return (root, query, cb) -> decrescente ? cb.lessThan(root.get("id"), id) : cb.greaterThan(root.get("id"), id);
+    }
+
+    // Keyset na ordenação por (name, id)
+    public static Specification<Cliente> nomeDepoisDe(String nome, Long id, boolean decrescente) {
+        return (root, query, cb) -> decrescente
+                ? cb.or(cb.lessThan(root.get("name"), nome),
+                        cb.and(cb.equal(root.get("name"), nome), cb.lessThan(root.get("id"), id)))
+                : cb.or(cb.greaterThan(root.get("name"), nome),
+                        cb.and(cb.equal(root.get("name"), nome), cb.greaterThan(root.get("id"), id)));
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,9 @@
+package br.edu.ibmec.demo.repository;
+
+import java.time.Instant;
+
+// Colunas do endereço lidas direto da consulta, com o ID do cliente dono (FK, sem JOIN)
+public record EnderecoProjection(Long id, Long version, String street, String number, String neighborhood,
+                                 String city, String state, String zipCode, Long clienteId,
+                                 Instant createdAt, Instant updatedAt) {
+}
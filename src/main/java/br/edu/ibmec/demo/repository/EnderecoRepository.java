@@ -1,7 +1,63 @@
 package br.edu.ibmec.demo.repository;
 
+import br.edu.ibmec.demo.model.Cliente;
 import br.edu.ibmec.demo.model.Endereco;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 public interface EnderecoRepository extends JpaRepository<Endereco, Long> {
+    // Paginação por cursor (keyset), como projeção: busca pelo índice da PK a partir do último ID retornado
+    @Query("select new br.edu.ibmec.demo.repository.EnderecoProjection(e.id, e.version, e.street, e.number, "
+            + "e.neighborhood, e.city, e.state, e.zipCode, e.cliente.id, e.createdAt, e.updatedAt) from Endereco e where e.id > :after order by e.id")
+    List<EnderecoProjection> findProjectionsAfter(@Param("after") Long after, Limit limit);
+
+    // Endereços de uma página de clientes em uma única consulta, como projeção
+    @Query("select new br.edu.ibmec.demo.repository.EnderecoProjection(e.id, e.version, e.street, e.number, "
+            + "e.neighborhood, e.city, e.state, e.zipCode, e.cliente.id, e.createdAt, e.updatedAt) from Endereco e "
+            + "where e.cliente.id in :clienteIds order by e.id")
+    List<EnderecoProjection> findProjectionsByClienteIdIn(@Param("clienteIds") Collection<Long> clienteIds);
+
+    // Feed de alterações: endereços alterados depois do cursor (updatedAt, id) e até o instante "ate", nessa ordem
+    @Query("select new br.edu.ibmec.demo.repository.EnderecoProjection(e.id, e.version, e.street, e.number, "
+            + "e.neighborhood, e.city, e.state, e.zipCode, e.cliente.id, e.createdAt, e.updatedAt) from Endereco e "
+            + "where (e.updatedAt > :desde or (e.updatedAt = :desde and e.id > :depoisDe)) and e.updatedAt <= :ate "
+            + "order by e.updatedAt, e.id")
+    List<EnderecoProjection> findChangedAfter(@Param("desde") Instant desde, @Param("depoisDe") Long depoisDe,
+                                              @Param("ate") Instant ate, Limit limit);
+
+    // Dono atual de cada endereço da lista (lê só a FK, sem JOIN com cliente). As linhas ficam travadas até o fim
+    // da transação: o dono lido é o mesmo que o UPDATE em massa vai encontrar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id as id, e.cliente.id as clienteId from Endereco e where e.id in :ids")
+    List<EnderecoDono> findDonos(@Param("ids") Collection<Long> ids);
+
+    // Associação em massa: um único UPDATE; a versão é incrementada para invalidar as ETags e o updatedAt
+    // (que o @UpdateTimestamp não preenche em UPDATE em massa) leva os endereços ao feed de alterações
+    @Modifying
+    @Query("update Endereco e set e.cliente = :cliente, e.version = e.version + 1, e.updatedAt = :agora "
+            + "where e.id in :ids")
+    int associarAoCliente(@Param("cliente") Cliente cliente, @Param("ids") Collection<Long> ids,
+                          @Param("agora") Instant agora);
+
+    // Desassociação em massa: o filtro pelo dono repete a verificação de posse no próprio UPDATE
+    @Modifying
+    @Query("update Endereco e set e.cliente = null, e.version = e.version + 1, e.updatedAt = :agora "
+            + "where e.cliente = :cliente and e.id in :ids")
+    int desassociarDoCliente(@Param("cliente") Cliente cliente, @Param("ids") Collection<Long> ids,
+                             @Param("agora") Instant agora);
+
+    interface EnderecoDono {
+        Long getId();
+
+        Long getClienteId();
+    }
 }
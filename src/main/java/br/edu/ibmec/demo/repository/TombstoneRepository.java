@@ -0,0 +1,18 @@
+package br.edu.ibmec.demo.repository;
+
+import br.edu.ibmec.demo.model.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+    // Remoções depois do cursor (deletedAt, id) e até o instante "ate", na ordem do feed
+    @Query("select t from Tombstone t where (t.deletedAt > :desde or (t.deletedAt = :desde and t.id > :depoisDe)) "
+            + "and t.deletedAt <= :ate order by t.deletedAt, t.id")
+    List<Tombstone> findChangedAfter(@Param("desde") Instant desde, @Param("depoisDe") Long depoisDe,
+                                     @Param("ate") Instant ate, Limit limit);
+}
@@ -0,0 +1,59 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class CacheEvictionService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    // Remover o cliente do cache (o DTO inclui a lista de endereços)
+    public void evictCliente(Long clienteId) {
+        evict(CacheConfig.CLIENTES, clienteId);
+        if (clienteId != null) {
+            // Como no cache, só após o commit: leituras que chegarem depois não aproveitam uma carga anterior
+            aposCommit(() -> {
+                singleFlight.esquecer(SingleFlight.CLIENTE, clienteId);
+                singleFlight.esquecer(SingleFlight.ENDERECOS_DO_CLIENTE, clienteId);
+            });
+        }
+    }
+
+    // Remover o endereço do cache
+    public void evictEndereco(Long enderecoId) {
+        evict(CacheConfig.ENDERECOS, enderecoId);
+    }
+
+    private void evict(String cacheName, Long id) {
+        if (id == null) {
+            return;
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
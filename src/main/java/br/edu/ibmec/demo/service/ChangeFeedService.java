@@ -0,0 +1,160 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.dto.ChangeFeedDTO;
+import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.model.Tombstone;
+import br.edu.ibmec.demo.repository.ClienteProjection;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoProjection;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.repository.TombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Feed de alterações de clientes e endereços, para sincronização incremental.
+// Três origens (clientes e endereços por updatedAt, tombstones por deletedAt) são lidas pelo índice (instante, id)
+// a partir do cursor e intercaladas na ordem (instante, origem, id), que é total e estável entre consultas
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ChangeFeedService {
+
+    // Ordem das origens no desempate de alterações com o mesmo instante
+    static final int ORIGEM_CLIENTE = 0;
+    static final int ORIGEM_ENDERECO = 1;
+    static final int ORIGEM_TOMBSTONE = 2;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    // Tamanho máximo de página do feed
+    @Value("${app.changes.max-limit:500}")
+    private int maxPageSize = 500;
+
+    // Só são entregues alterações mais antigas que este atraso. O instante é gerado na gravação, antes do commit:
+    // uma transação mais lenta que o atraso pode confirmar uma linha com instante anterior a um cursor já entregue
+    @Value("${app.changes.commit-lag:5s}")
+    private Duration commitLag = Duration.ofSeconds(5);
+
+    // Alterações depois do cursor (null = desde o início). Lido sempre no primário: com a réplica atrasada,
+    // linhas que ficassem atrás do cursor já entregue apareceriam depois e seriam perdidas
+    @Transactional
+    public ChangeFeedDTO getChanges(String since, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("O parâmetro limit deve ser maior que zero.");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        Cursor cursor = since != null ? Cursor.parse(since) : Cursor.INICIO;
+        Instant ate = Instant.now().minus(commitLag);
+
+        // Um registro a mais por origem: a página é formada pelos menores da união, e sobra algo se houver mais
+        Limit porOrigem = Limit.of(pageSize + 1);
+        List<Alteracao> alteracoes = new ArrayList<>();
+        for (ClienteProjection cliente : clienteRepository.findChangedAfter(
+                cursor.instante(), cursor.depoisDe(ORIGEM_CLIENTE), ate, porOrigem)) {
+            Alteracao alteracao = new Alteracao(new Cursor(cliente.updatedAt(), ORIGEM_CLIENTE, cliente.id()),
+                    Tombstone.CLIENTE, ChangeDTO.UPSERT, cliente.id(), null);
+            alteracao.change().setCliente(clienteService.convertToDTO(cliente));
+            alteracoes.add(alteracao);
+        }
+        for (EnderecoProjection endereco : enderecoRepository.findChangedAfter(
+                cursor.instante(), cursor.depoisDe(ORIGEM_ENDERECO), ate, porOrigem)) {
+            Alteracao alteracao = new Alteracao(new Cursor(endereco.updatedAt(), ORIGEM_ENDERECO, endereco.id()),
+                    Tombstone.ENDERECO, ChangeDTO.UPSERT, endereco.id(), endereco.clienteId());
+            alteracao.change().setEndereco(enderecoService.convertToDTO(endereco));
+            alteracoes.add(alteracao);
+        }
+        for (Tombstone tombstone : tombstoneRepository.findChangedAfter(
+                cursor.instante(), cursor.depoisDe(ORIGEM_TOMBSTONE), ate, porOrigem)) {
+            alteracoes.add(new Alteracao(new Cursor(tombstone.getDeletedAt(), ORIGEM_TOMBSTONE, tombstone.getId()),
+                    tombstone.getEntityType(), ChangeDTO.DELETE, tombstone.getEntityId(), tombstone.getClienteId()));
+        }
+
+        alteracoes.sort(Comparator.comparing(Alteracao::posicao));
+        boolean hasMore = alteracoes.size() > pageSize;
+        List<ChangeDTO> pagina = new ArrayList<>(Math.min(alteracoes.size(), pageSize));
+        for (int i = 0; i < alteracoes.size() && i < pageSize; i++) {
+            pagina.add(alteracoes.get(i).change());
+        }
+        String nextCursor = pagina.isEmpty() ? since : pagina.get(pagina.size() - 1).getCursor();
+        return new ChangeFeedDTO(pagina, nextCursor, hasMore, pageSize);
+    }
+
+    private record Alteracao(Cursor posicao, ChangeDTO change) {
+
+        Alteracao(Cursor posicao, String type, String operation, Long id, Long clienteId) {
+            this(posicao, new ChangeDTO(type, operation, id, clienteId, posicao.instante()));
+            change.setCursor(posicao.toString());
+        }
+    }
+
+    // Posição no feed: "<microssegundos desde a época>-<origem>-<id na origem>"
+    record Cursor(Instant instante, int origem, long id) implements Comparable<Cursor> {
+
+        static final Cursor INICIO = new Cursor(Instant.EPOCH, -1, 0);
+
+        static Cursor parse(String valor) {
+            String[] partes = valor.split("-", -1);
+            try {
+                if (partes.length == 3) {
+                    long micros = Long.parseLong(partes[0]);
+                    int origem = Integer.parseInt(partes[1]);
+                    long id = Long.parseLong(partes[2]);
+                    if (micros >= 0 && origem >= ORIGEM_CLIENTE && origem <= ORIGEM_TOMBSTONE) {
+                        return new Cursor(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), origem, id);
+                    }
+                }
+            } catch (NumberFormatException | ArithmeticException e) {
+                // Cai na mensagem abaixo
+            }
+            throw new BadRequestException("Cursor inválido: " + valor);
+        }
+
+        // Maior ID já entregue da origem no instante do cursor: origens anteriores a ele já foram entregues
+        // por inteiro nesse instante, e as posteriores ainda não tiveram nenhuma linha entregue
+        long depoisDe(int outraOrigem) {
+            if (outraOrigem < origem) {
+                return Long.MAX_VALUE;
+            }
+            return outraOrigem == origem ? id : Long.MIN_VALUE;
+        }
+
+        @Override
+        public int compareTo(Cursor outro) {
+            int comparacao = instante.compareTo(outro.instante);
+            if (comparacao == 0) {
+                comparacao = Integer.compare(origem, outro.origem);
+            }
+            return comparacao != 0 ? comparacao : Long.compare(id, outro.id);
+        }
+
+        @Override
+        public String toString() {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, instante) + "-" + origem + "-" + id;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Stream SSE das alterações de clientes e endereços (GET /api/stream).
+// Os serviços publicam um ChangeDTO por alteração; ele só chega aqui depois do commit. Cada evento recebe um ID
+// sequencial e entra no histórico (para retomada com Last-Event-ID) sob um lock curto; a distribuição para a fila de
+// cada assinante acontece fora dele. A fila é limitada e descarta o evento mais antigo quando cheia; o envio é feito
+// por threads próprias, então um cliente lento nunca segura a thread da requisição que fez a alteração. Os eventos
+// são desta instância: sem réplica entre servidores
+@Service
+public class ChangeStreamService {
+
+    static final String EVENTO_ALTERACAO = "change";
+    // O cliente perdeu eventos (reinício do servidor ou retomada além do histórico): deve ressincronizar por
+    // GET /api/changes e seguir o stream a partir deste evento
+    static final String EVENTO_RESET = "reset";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Eventos pendentes por assinante (os mais antigos são descartados quando a fila enche)
+    @Value("${app.stream.buffer-size:256}")
+    private int tamanhoFila = 256;
+
+    // Últimos eventos guardados para a retomada com Last-Event-ID
+    @Value("${app.stream.replay-size:1000}")
+    private int tamanhoHistorico = 1000;
+
+    @Value("${app.stream.max-subscribers:1000}")
+    private int maxAssinantes = 1000;
+
+    // Duração máxima da conexão; o EventSource reconecta sozinho enviando o Last-Event-ID
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    // Comentário periódico que mantém a conexão aberta em proxies e detecta clientes desconectados
+    @Value("${app.stream.heartbeat:15s}")
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    // Threads de envio de plataforma: no Spring 6.1 o SseEmitter.send é synchronized e bloqueia na escrita, o que
+    // prenderia virtual threads ao carrier
+    @Value("${app.stream.sender-threads:4}")
+    private int threadsEnvio = 4;
+
+    // Prefixo dos IDs de evento: IDs de uma execução anterior do servidor não valem nesta
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+
+    // Histórico e numeração protegidos pelo lock: o ID é gerado e o evento anexado sem nenhum envio no meio
+    private final ReentrantLock lockHistorico = new ReentrantLock();
+    private final Deque<Evento> historico = new ArrayDeque<>();
+    private final AtomicLong ultimoId = new AtomicLong();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    // Uma thread por vez distribui o histórico novo aos assinantes, na ordem dos IDs; quem publica enquanto outra
+    // distribui só anexa o evento e segue, e a distribuição em andamento o inclui
+    private final AtomicBoolean distribuindo = new AtomicBoolean();
+    private volatile long ultimoDistribuido;
+
+    private ExecutorService envio;
+    private ScheduledExecutorService agendador;
+    private Counter descartados;
+
+    @PostConstruct
+    void iniciar() {
+        envio = Executors.newFixedThreadPool(threadsEnvio, new CustomizableThreadFactory("sse-envio-"));
+        CustomizableThreadFactory threadsHeartbeat = new CustomizableThreadFactory("sse-heartbeat-");
+        threadsHeartbeat.setDaemon(true);
+        agendador = Executors.newSingleThreadScheduledExecutor(threadsHeartbeat);
+        agendador.scheduleAtFixedRate(this::enviarHeartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+
+        Gauge.builder("app.stream.subscribers", assinantes, Set::size)
+                .description("Conexões abertas em /api/stream")
+                .register(meterRegistry);
+        descartados = Counter.builder("app.stream.dropped")
+                .description("Eventos descartados por fila cheia (assinante lento)")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        assinantes.forEach(assinante -> assinante.emitter.complete());
+        envio.shutdown();
+    }
+
+    // Nova conexão; lastEventId é o último evento recebido numa conexão anterior (null = só eventos novos)
+    public SseEmitter assinar(String lastEventId) {
+        Long ultimoRecebido = lastEventId != null ? parseId(lastEventId) : null;
+        SseEmitter emitter = criarEmitter(timeout.toMillis());
+        Assinante assinante = new Assinante(emitter);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinantes.remove(assinante));
+
+        // A fila começa no último ID já numerado (com o reenvio, se houver): eventos anteriores ainda não
+        // distribuídos não chegam de novo a esta conexão
+        lockHistorico.lock();
+        try {
+            if (assinantes.size() >= maxAssinantes) {
+                throw new ServiceUnavailableException("Limite de conexões do stream atingido. Tente novamente.");
+            }
+            if (lastEventId != null) {
+                retomar(assinante, ultimoRecebido);
+            }
+            assinante.iniciarEm(ultimoId.get());
+            assinantes.add(assinante);
+        } finally {
+            lockHistorico.unlock();
+        }
+        return emitter;
+    }
+
+    SseEmitter criarEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // Só depois do commit: alterações desfeitas por rollback nunca são enviadas
+    @TransactionalEventListener
+    public void publicar(ChangeDTO change) {
+        lockHistorico.lock();
+        try {
+            historico.addLast(new Evento(ultimoId.incrementAndGet(), EVENTO_ALTERACAO, change));
+            // Só sai do histórico o que já foi distribuído (ele passa do limite enquanto a distribuição está atrasada)
+            while (historico.size() > tamanhoHistorico && historico.getFirst().id() <= ultimoDistribuido) {
+                historico.removeFirst();
+            }
+        } finally {
+            lockHistorico.unlock();
+        }
+        distribuir();
+    }
+
+    // Entrega às filas os eventos ainda não distribuídos; se outra thread já distribui, ela os entrega
+    private void distribuir() {
+        while (ultimoDistribuido < ultimoId.get() && distribuindo.compareAndSet(false, true)) {
+            try {
+                for (Evento evento : posteriores(ultimoDistribuido)) {
+                    assinantes.forEach(assinante -> assinante.oferecer(evento));
+                    ultimoDistribuido = evento.id();
+                }
+            } finally {
+                distribuindo.set(false);
+            }
+        }
+    }
+
+    // Cópia dos eventos do histórico com ID maior que o informado (normalmente só os últimos)
+    private List<Evento> posteriores(long id) {
+        lockHistorico.lock();
+        try {
+            List<Evento> eventos = new ArrayList<>();
+            Iterator<Evento> iterator = historico.descendingIterator();
+            while (iterator.hasNext()) {
+                Evento evento = iterator.next();
+                if (evento.id() <= id) {
+                    break;
+                }
+                eventos.add(evento);
+            }
+            return eventos.reversed();
+        } finally {
+            lockHistorico.unlock();
+        }
+    }
+
+    // Reenvia os eventos posteriores ao último recebido, ou pede ressincronização se algum já se perdeu
+    private void retomar(Assinante assinante, Long ultimoRecebido) {
+        long ultimo = ultimoId.get();
+        if (ultimoRecebido != null && ultimoRecebido >= ultimo) {
+            return;
+        }
+        List<Evento> pendentes = new ArrayList<>();
+        if (ultimoRecebido != null && (historico.isEmpty() || historico.getFirst().id() <= ultimoRecebido + 1)) {
+            historico.stream().filter(evento -> evento.id() > ultimoRecebido).forEach(pendentes::add);
+        }
+        if (pendentes.isEmpty() || pendentes.size() > tamanhoFila) {
+            assinante.oferecer(new Evento(ultimo, EVENTO_RESET, Map.of("message",
+                    "Eventos perdidos desde o último ID recebido. Ressincronize por GET /api/changes.")));
+        } else {
+            pendentes.forEach(assinante::oferecer);
+        }
+    }
+
+    // Número do evento desta execução do servidor, ou null se o ID é de outra execução
+    private Long parseId(String lastEventId) {
+        int separador = lastEventId.lastIndexOf('-');
+        try {
+            long id = Long.parseLong(lastEventId.substring(separador + 1));
+            if (separador > 0 && id >= 0) {
+                return execucao.equals(lastEventId.substring(0, separador)) ? id : null;
+            }
+        } catch (NumberFormatException e) {
+            // Cai na mensagem abaixo
+        }
+        throw new BadRequestException("Last-Event-ID inválido: " + lastEventId);
+    }
+
+    private void enviarHeartbeat() {
+        assinantes.forEach(Assinante::heartbeat);
+    }
+
+    private record Evento(long id, String nome, Object dados) {
+    }
+
+    private final class Assinante {
+
+        private final SseEmitter emitter;
+        // ReentrantLock em vez de synchronized: quem publica pode estar numa virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Deque<Evento> fila = new ArrayDeque<>();
+        // Há uma tarefa de envio agendada ou em execução para este assinante
+        private boolean enviando;
+        private boolean pingPendente;
+        // Último ID enfileirado: a fila só avança, sem repetir eventos do reenvio
+        private long ultimoEnfileirado;
+
+        Assinante(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void iniciarEm(long id) {
+            lock.lock();
+            try {
+                ultimoEnfileirado = Math.max(ultimoEnfileirado, id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Nunca bloqueia: enfileira (descartando o mais antigo se preciso) e agenda o envio
+        void oferecer(Evento evento) {
+            lock.lock();
+            try {
+                if (evento.id() <= ultimoEnfileirado && evento.nome().equals(EVENTO_ALTERACAO)) {
+                    return;
+                }
+                ultimoEnfileirado = evento.id();
+                if (fila.size() >= tamanhoFila) {
+                    fila.removeFirst();
+                    descartados.increment();
+                }
+                fila.addLast(evento);
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+            } finally {
+                lock.unlock();
+            }
+            envio.execute(this::enviar);
+        }
+
+        // Comentário só quando não há eventos na fila (qualquer envio já mantém a conexão ativa)
+        void heartbeat() {
+            lock.lock();
+            try {
+                if (enviando) {
+                    return;
+                }
+                enviando = true;
+                pingPendente = true;
+            } finally {
+                lock.unlock();
+            }
+            envio.execute(this::enviar);
+        }
+
+        private void enviar() {
+            while (true) {
+                Evento evento;
+                boolean ping;
+                lock.lock();
+                try {
+                    evento = fila.pollFirst();
+                    ping = pingPendente;
+                    pingPendente = false;
+                    if (evento == null && !ping) {
+                        enviando = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (evento != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(execucao + "-" + evento.id())
+                                .name(evento.nome())
+                                .data(evento.dados(), MediaType.APPLICATION_JSON));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Conexão fechada pelo cliente ou já encerrada: o assinante sai e a fila é descartada
+                    assinantes.remove(this);
+                    lock.lock();
+                    try {
+                        // "enviando" continua true: nenhum envio é agendado de novo para esta conexão
+                        fila.clear();
+                    } finally {
+                        lock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import br.edu.ibmec.demo.dto.BatchItemResultDTO;
+import br.edu.ibmec.demo.dto.BatchResultDTO;
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ClienteBatchService {
+
+    // Tamanho máximo das listas usadas em cláusulas IN
+    private static final int IN_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Quantidade máxima de clientes por requisição
+    @Value("${app.batch.max-size:50000}")
+    private int maxBatchSize = 50000;
+
+    // Clientes gravados por transação (os INSERTs de cada bloco são enviados em lotes JDBC)
+    @Value("${app.batch.chunk-size:500}")
+    private int chunkSize = 500;
+
+    // Adicionar clientes em lote: registros inválidos são reportados sem impedir a gravação dos válidos
+    public BatchResultDTO addClientes(List<ClienteDTO> clientesDTO) {
+        if (clientesDTO == null || clientesDTO.isEmpty()) {
+            throw new BadRequestException("A lista de clientes está vazia.");
+        }
+        if (clientesDTO.size() > maxBatchSize) {
+            throw new BadRequestException("O lote excede o limite de " + maxBatchSize + " clientes.");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[clientesDTO.size()];
+
+        // Validação de campos (bean validation + idade mínima)
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < clientesDTO.size(); i++) {
+            Map<String, String> errors = validar(clientesDTO.get(i));
+            if (errors.isEmpty()) {
+                validos.add(i);
+            } else {
+                results[i] = BatchItemResultDTO.error(i, errors);
+            }
+        }
+
+        // Validação de unicidade contra o banco e dentro do próprio lote
+        validos = verificarUnicidade(clientesDTO, validos, results);
+
+        // Gravação em blocos
+        for (int inicio = 0; inicio < validos.size(); inicio += chunkSize) {
+            List<Integer> bloco = validos.subList(inicio, Math.min(inicio + chunkSize, validos.size()));
+            inserir(clientesDTO, bloco, results);
+        }
+
+        return new BatchResultDTO(Arrays.asList(results));
+    }
+
+    private Map<String, String> validar(ClienteDTO clienteDTO) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (clienteDTO == null) {
+            errors.put("cliente", "Registro vazio");
+            return errors;
+        }
+
+        for (ConstraintViolation<ClienteDTO> violation : validator.validate(clienteDTO)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        if (clienteDTO.getBirthDate() != null && !clienteDTO.isAgeValid()) {
+            errors.putIfAbsent("birthDate", "O cliente deve ter pelo menos 18 anos.");
+        }
+
+        List<EnderecoDTO> enderecos = clienteDTO.getEnderecos();
+        if (enderecos != null) {
+            for (int j = 0; j < enderecos.size(); j++) {
+                String prefixo = "enderecos[" + j + "]";
+                if (enderecos.get(j) == null) {
+                    errors.put(prefixo, "Registro vazio");
+                    continue;
+                }
+                for (ConstraintViolation<EnderecoDTO> violation : validator.validate(enderecos.get(j))) {
+                    errors.putIfAbsent(prefixo + "." + violation.getPropertyPath(), violation.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    private List<Integer> verificarUnicidade(List<ClienteDTO> clientesDTO, List<Integer> validos,
+                                             BatchItemResultDTO[] results) {
+        Set<String> emails = new HashSet<>();
+        Set<String> cpfs = new HashSet<>();
+        for (int i : validos) {
+            emails.add(clientesDTO.get(i).getEmail());
+            cpfs.add(clientesDTO.get(i).getCpf());
+        }
+        Set<String> emailsExistentes = buscarEmBlocos(emails, clienteRepository::findExistingEmails);
+        Set<String> cpfsExistentes = buscarEmBlocos(cpfs, clienteRepository::findExistingCpfs);
+
+        Set<String> emailsNoLote = new HashSet<>();
+        Set<String> cpfsNoLote = new HashSet<>();
+        List<Integer> unicos = new ArrayList<>();
+        for (int i : validos) {
+            ClienteDTO clienteDTO = clientesDTO.get(i);
+            Map<String, String> errors = new LinkedHashMap<>();
+
+            if (emailsExistentes.contains(clienteDTO.getEmail())) {
+                errors.put("email", "O email fornecido já está em uso.");
+            } else if (!emailsNoLote.add(clienteDTO.getEmail())) {
+                errors.put("email", "O email fornecido está repetido no lote.");
+            }
+            if (cpfsExistentes.contains(clienteDTO.getCpf())) {
+                errors.put("cpf", "O CPF fornecido já está em uso.");
+            } else if (!cpfsNoLote.add(clienteDTO.getCpf())) {
+                errors.put("cpf", "O CPF fornecido está repetido no lote.");
+            }
+
+            if (errors.isEmpty()) {
+                unicos.add(i);
+            } else {
+                results[i] = BatchItemResultDTO.error(i, errors);
+            }
+        }
+        return unicos;
+    }
+
+    private Set<String> buscarEmBlocos(Set<String> valores, Function<Collection<String>, List<String>> consulta) {
+        Set<String> encontrados = new HashSet<>();
+        List<String> lista = new ArrayList<>(valores);
+        for (int inicio = 0; inicio < lista.size(); inicio += IN_CHUNK_SIZE) {
+            encontrados.addAll(consulta.apply(lista.subList(inicio, Math.min(inicio + IN_CHUNK_SIZE, lista.size()))));
+        }
+        return encontrados;
+    }
+
+    private void inserir(List<ClienteDTO> clientesDTO, List<Integer> bloco, BatchItemResultDTO[] results) {
+        try {
+            List<Cliente> salvos = transactionTemplate.execute(status -> persistir(clientesDTO, bloco));
+            for (int k = 0; k < bloco.size(); k++) {
+                results[bloco.get(k)] = BatchItemResultDTO.created(bloco.get(k), salvos.get(k).getId());
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Conflito com uma gravação concorrente: repete o bloco registro a registro para isolar a falha
+            entityManager.clear();
+            for (int i : bloco) {
+                try {
+                    List<Cliente> salvo = transactionTemplate.execute(status -> persistir(clientesDTO, List.of(i)));
+                    results[i] = BatchItemResultDTO.created(i, salvo.get(0).getId());
+                } catch (DataIntegrityViolationException ex) {
+                    results[i] = BatchItemResultDTO.error(i,
+                            Map.of("cliente", "O email ou CPF fornecido já está em uso."));
+                }
+            }
+        } finally {
+            // Libera as entidades gravadas para manter o consumo de memória constante
+            entityManager.clear();
+        }
+    }
+
+    private List<Cliente> persistir(List<ClienteDTO> clientesDTO, List<Integer> indices) {
+        List<Cliente> clientes = new ArrayList<>(indices.size());
+        for (int i : indices) {
+            Cliente cliente = clienteService.convertToEntity(clientesDTO.get(i));
+            if (cliente.getEnderecos() != null) {
+                cliente.getEnderecos().forEach(endereco -> {
+                    // Registros do lote são sempre novos
+                    endereco.setId(null);
+                    endereco.setCliente(cliente);
+                });
+            }
+            clientes.add(cliente);
+        }
+        clienteRepository.saveAll(clientes);
+        clienteRepository.flush();
+        // Publicados dentro da transação do bloco: o stream só os recebe se o bloco for confirmado
+        for (Cliente cliente : clientes) {
+            ClienteDTO clienteDTO = clienteService.convertToDTO(cliente);
+            eventPublisher.publishEvent(ChangeDTO.upsert(clienteDTO));
+            if (clienteDTO.getEnderecos() != null) {
+                clienteDTO.getEnderecos().forEach(endereco ->
+                        eventPublisher.publishEvent(ChangeDTO.upsert(endereco, clienteDTO.getId())));
+            }
+        }
+        return clientes;
+    }
+}
@@ -0,0 +1,160 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import br.edu.ibmec.demo.configuration.ReadWriteRoutingDataSource;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.ClienteSearchDTO;
+import br.edu.ibmec.demo.dto.SearchPageDTO;
+import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.ClienteSpecifications;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ClienteSearchService {
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tamanho máximo de página aceito pelo servidor
+    @Value("${app.pagination.max-limit:100}")
+    private int maxPageSize = 100;
+
+    // Ordenações aceitas em "sort" ("-" no início = decrescente); todas terminam no ID para o keyset ser estável
+    enum Ordenacao {
+        ID("id", false), ID_DESC("-id", false), NAME("name", true), NAME_DESC("-name", true);
+
+        private final String parametro;
+        private final boolean porNome;
+
+        Ordenacao(String parametro, boolean porNome) {
+            this.parametro = parametro;
+            this.porNome = porNome;
+        }
+
+        boolean decrescente() {
+            return parametro.startsWith("-");
+        }
+
+        Sort sort() {
+            Sort.Direction direcao = decrescente() ? Sort.Direction.DESC : Sort.Direction.ASC;
+            return porNome ? Sort.by(direcao, "name", "id") : Sort.by(direcao, "id");
+        }
+
+        static Ordenacao de(String parametro) {
+            for (Ordenacao ordenacao : values()) {
+                if (ordenacao.parametro.equals(parametro)) {
+                    return ordenacao;
+                }
+            }
+            throw new BadRequestException("Ordenação inválida: use id, -id, name ou -name.");
+        }
+    }
+
+    // Buscar clientes por filtros, com ordenação e paginação por cursor
+    @Transactional(readOnly = true)
+    public SearchPageDTO<ClienteDTO> searchClientes(ClienteSearchDTO filtro, String sort, String after, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("O parâmetro limit deve ser maior que zero.");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        Ordenacao ordenacao = Ordenacao.de(sort != null ? sort : "id");
+
+        Specification<Cliente> filtros = filtros(filtro);
+        if (after != null) {
+            filtros = filtros.and(depoisDoCursor(after, ordenacao));
+        }
+
+        // A busca lê da réplica: os clientes e endereços lidos não entram no cache de segundo nível
+        CacheMode cacheMode = ReadWriteRoutingDataSource.semAlimentarCache(entityManager);
+        try {
+            // Busca um registro a mais para saber se existe próxima página
+            List<Cliente> clientes = clienteRepository.search(filtros, ordenacao.sort(), pageSize + 1);
+
+            boolean hasNext = clientes.size() > pageSize;
+            List<Cliente> pagina = hasNext ? clientes.subList(0, pageSize) : clientes;
+            String nextCursor = hasNext ? cursor(pagina.get(pagina.size() - 1), ordenacao) : null;
+
+            List<ClienteDTO> items = pagina.stream()
+                    .map(clienteService::convertToDTO)
+                    .collect(Collectors.toList());
+            return new SearchPageDTO<>(items, nextCursor, pageSize);
+        } finally {
+            entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+        }
+    }
+
+    private Specification<Cliente> filtros(ClienteSearchDTO filtro) {
+        Specification<Cliente> filtros = Specification.where(null);
+        if (temValor(filtro.getName())) {
+            filtros = filtros.and(ClienteSpecifications.nomeComecaCom(filtro.getName()));
+        }
+        if (temValor(filtro.getEmail())) {
+            filtros = filtros.and(ClienteSpecifications.emailIgual(filtro.getEmail()));
+        }
+        if (temValor(filtro.getCpf())) {
+            filtros = filtros.and(ClienteSpecifications.cpfIgual(filtro.getCpf()));
+        }
+
+        String cidade = temValor(filtro.getCity()) ? filtro.getCity() : null;
+        String estado = temValor(filtro.getState()) ? filtro.getState().toUpperCase() : null;
+        String prefixoCep = temValor(filtro.getZipCode()) ? filtro.getZipCode() : null;
+        if (prefixoCep != null && !prefixoCep.matches("\\d{1,5}(-\\d{0,3})?")) {
+            throw new BadRequestException("Prefixo de CEP inválido (formato XXXXX-XXX).");
+        }
+        if (cidade != null || estado != null || prefixoCep != null) {
+            filtros = filtros.and(ClienteSpecifications.comEndereco(cidade, estado, prefixoCep));
+        }
+        return filtros;
+    }
+
+    // Cursor opaco: "id" ou "id:nome" em Base64 (URL-safe)
+    private String cursor(Cliente ultimo, Ordenacao ordenacao) {
+        String valor = ordenacao.porNome ? ultimo.getId() + ":" + ultimo.getName() : String.valueOf(ultimo.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Specification<Cliente> depoisDoCursor(String after, Ordenacao ordenacao) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(':');
+            if (ordenacao.porNome) {
+                if (separador < 0) {
+                    throw new IllegalArgumentException();
+                }
+                Long id = Long.valueOf(valor.substring(0, separador));
+                return ClienteSpecifications.nomeDepoisDe(valor.substring(separador + 1), id, ordenacao.decrescente());
+            }
+            return ClienteSpecifications.idDepoisDe(Long.valueOf(valor), ordenacao.decrescente());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido para a ordenação informada.");
+        }
+    }
+
+    private boolean temValor(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
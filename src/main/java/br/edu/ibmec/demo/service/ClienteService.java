@@ -1,20 +1,67 @@
 package br.edu.ibmec.demo.service;
 
+import br.edu.ibmec.demo.configuration.CacheConfig;
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import br.edu.ibmec.demo.configuration.ReadWriteRoutingDataSource;
+import br.edu.ibmec.demo.dto.ChangeDTO;
 import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
+import br.edu.ibmec.demo.dto.EnderecoBulkItemResultDTO;
+import br.edu.ibmec.demo.dto.EnderecoBulkResultDTO;
 import br.edu.ibmec.demo.dto.EnderecoDTO;
 import br.edu.ibmec.demo.exception.ResourceNotFoundException;
 import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
 import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.ClienteConstraints;
 import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.model.Tombstone;
+import br.edu.ibmec.demo.repository.ClienteProjection;
 import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoProjection;
 import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.repository.TombstoneRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ClienteService {
 
     @Autowired
@@ -26,22 +73,53 @@ public class ClienteService {
     @Autowired
     private EnderecoService enderecoService;
 
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    // Alterações publicadas para o stream SSE (entregues só após o commit)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Campos aceitos no PATCH; os demais são somente leitura ou têm endpoints próprios (endereços)
+    static final Set<String> CAMPOS_PATCH = Set.of("name", "email", "cpf", "birthDate", "phone");
+
+    // Clientes convertidos por vez na exportação (igual ao tamanho do lote de carga dos endereços)
+    private static final int EXPORT_CHUNK_SIZE = 100;
+
+    // Quantidade máxima de IDs por associação/desassociação em massa
+    @Value("${app.bulk.max-ids:1000}")
+    private int maxBulkIds = 1000;
+
+    // Tamanho máximo de página aceito pelo servidor
+    @Value("${app.pagination.max-limit:100}")
+    private int maxPageSize = 100;
+
     // Adicionar um novo cliente
+    @Transactional
     public ClienteDTO addCliente(ClienteDTO clienteDTO) {
         // Validar idade mínima
         if (!clienteDTO.isAgeValid()) {
             throw new BadRequestException("O cliente deve ter pelo menos 18 anos.");
         }
 
-        // Validação de unicidade do email
-        if (clienteRepository.findByEmail(clienteDTO.getEmail()).isPresent()) {
-            throw new BadRequestException("O email fornecido já está em uso.");
-        }
-
-        // Validação de unicidade do CPF
-        if (clienteRepository.findByCpf(clienteDTO.getCpf()).isPresent()) {
-            throw new BadRequestException("O CPF fornecido já está em uso.");
-        }
+        // Validação de unicidade do email e do CPF (uma única consulta)
+        verificarUnicidade(null, clienteDTO.getEmail(), clienteDTO.getCpf(),
+                "O email fornecido já está em uso.", "O CPF fornecido já está em uso.");
 
         // Converter DTO para entidade
         Cliente cliente = convertToEntity(clienteDTO);
@@ -52,29 +130,42 @@ public class ClienteService {
             enderecos.forEach(endereco -> endereco.setCliente(cliente));
         }
 
-        // Salvar cliente
-        Cliente novoCliente = clienteRepository.save(cliente);
-        return convertToDTO(novoCliente);
+        // Salvar cliente (os índices únicos barram cadastros concorrentes que passaram pela verificação)
+        Cliente novoCliente;
+        try {
+            novoCliente = clienteRepository.saveAndFlush(cliente);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoDeUnicidade(e, "O email fornecido já está em uso.", "O CPF fornecido já está em uso.");
+        }
+        ClienteDTO novoClienteDTO = convertToDTO(novoCliente);
+        eventPublisher.publishEvent(ChangeDTO.upsert(novoClienteDTO));
+        if (novoClienteDTO.getEnderecos() != null) {
+            novoClienteDTO.getEnderecos().forEach(endereco ->
+                    eventPublisher.publishEvent(ChangeDTO.upsert(endereco, novoClienteDTO.getId())));
+        }
+        return novoClienteDTO;
     }
 
     // Atualizar cliente existente
+    @Transactional
     public ClienteDTO updateCliente(Long id, ClienteDTO clienteDetailsDTO) {
+        return updateCliente(id, clienteDetailsDTO, null);
+    }
+
+    // Atualizar cliente existente somente se ainda estiver na versão esperada (null = sem verificação)
+    @Transactional
+    public ClienteDTO updateCliente(Long id, ClienteDTO clienteDetailsDTO, Long versaoEsperada) {
         Cliente clienteExistente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente com ID " + id + " não encontrado"));
+        Patches.verificarVersao(versaoEsperada, clienteExistente.getVersion());
 
-        // Verificar unicidade do email para outro cliente
-        clienteRepository.findByEmail(clienteDetailsDTO.getEmail()).ifPresent(cliente -> {
-            if (!cliente.getId().equals(id)) {
-                throw new BadRequestException("O email fornecido já está em uso por outro cliente.");
-            }
-        });
-
-        // Verificar unicidade do CPF para outro cliente
-        clienteRepository.findByCpf(clienteDetailsDTO.getCpf()).ifPresent(cliente -> {
-            if (!cliente.getId().equals(id)) {
-                throw new BadRequestException("O CPF fornecido já está em uso por outro cliente.");
-            }
-        });
+        // Verificar unicidade apenas dos valores que mudaram
+        String novoEmail = Objects.equals(clienteDetailsDTO.getEmail(), clienteExistente.getEmail())
+                ? null : clienteDetailsDTO.getEmail();
+        String novoCpf = Objects.equals(clienteDetailsDTO.getCpf(), clienteExistente.getCpf())
+                ? null : clienteDetailsDTO.getCpf();
+        verificarUnicidade(id, novoEmail, novoCpf,
+                "O email fornecido já está em uso por outro cliente.", "O CPF fornecido já está em uso por outro cliente.");
 
         // Atualizar apenas os campos do cliente, sem alterar endereços
         clienteExistente.setName(clienteDetailsDTO.getName());
@@ -83,33 +174,189 @@ public class ClienteService {
         clienteExistente.setBirthDate(clienteDetailsDTO.getBirthDate());
         clienteExistente.setPhone(clienteDetailsDTO.getPhone());
 
-        // Salvar o cliente atualizado
-        Cliente clienteAtualizado = clienteRepository.save(clienteExistente);
-        return convertToDTO(clienteAtualizado);
+        return salvarAlteracao(clienteExistente, versaoEsperada);
     }
 
-    // Buscar todos os clientes
-    public List<ClienteDTO> getAllClientes() {
-        return clienteRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Atualização parcial (JSON merge-patch): "campos" são os nomes presentes no corpo e "valores" os valores deles
+    // (null remove o valor). Só os campos enviados são validados, e a unicidade só é consultada se email/CPF mudarem
+    @Transactional
+    public ClienteDTO patchCliente(Long id, ClienteDTO valores, Set<String> campos, Long versaoEsperada) {
+        Patches.verificarCamposPatch(campos, CAMPOS_PATCH);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String campo : campos) {
+            validator.validateProperty(valores, campo)
+                    .forEach(violacao -> errors.putIfAbsent(campo, violacao.getMessage()));
+        }
+        if (campos.contains("birthDate") && !errors.containsKey("birthDate") && !valores.isAgeValid()) {
+            errors.put("birthDate", "O cliente deve ter pelo menos 18 anos.");
+        }
+        if (!errors.isEmpty()) {
+            throw new BadRequestException("Erro de validação", errors);
+        }
+
+        Cliente clienteExistente = clienteRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente com ID " + id + " não encontrado"));
+        Patches.verificarVersao(versaoEsperada, clienteExistente.getVersion());
+
+        String novoEmail = campos.contains("email") && !Objects.equals(valores.getEmail(), clienteExistente.getEmail())
+                ? valores.getEmail() : null;
+        String novoCpf = campos.contains("cpf") && !Objects.equals(valores.getCpf(), clienteExistente.getCpf())
+                ? valores.getCpf() : null;
+        verificarUnicidade(id, novoEmail, novoCpf,
+                "O email fornecido já está em uso por outro cliente.", "O CPF fornecido já está em uso por outro cliente.");
+
+        // Aplicar só os campos enviados (e só se o valor mudou)
+        boolean alterado = false;
+        if (campos.contains("name")) {
+            alterado |= Patches.alterar(valores.getName(), clienteExistente.getName(), clienteExistente::setName);
+        }
+        if (campos.contains("email")) {
+            alterado |= Patches.alterar(valores.getEmail(), clienteExistente.getEmail(), clienteExistente::setEmail);
+        }
+        if (campos.contains("cpf")) {
+            alterado |= Patches.alterar(valores.getCpf(), clienteExistente.getCpf(), clienteExistente::setCpf);
+        }
+        if (campos.contains("birthDate")) {
+            alterado |= Patches.alterar(valores.getBirthDate(), clienteExistente.getBirthDate(), clienteExistente::setBirthDate);
+        }
+        if (campos.contains("phone")) {
+            alterado |= Patches.alterar(valores.getPhone(), clienteExistente.getPhone(), clienteExistente::setPhone);
+        }
+
+        // Nada mudou: sem UPDATE, sem nova versão e sem evento
+        if (!alterado) {
+            return convertToDTO(clienteExistente);
+        }
+        return salvarAlteracao(clienteExistente, versaoEsperada);
+    }
+
+    // Grava o cliente alterado (o UPDATE leva só as colunas que mudaram), invalida o cache e publica a alteração
+    private ClienteDTO salvarAlteracao(Cliente clienteExistente, Long versaoEsperada) {
+        Long id = clienteExistente.getId();
+        Cliente clienteAtualizado;
+        try {
+            clienteAtualizado = clienteRepository.saveAndFlush(clienteExistente);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacaoDeUnicidade(e,
+                    "O email fornecido já está em uso por outro cliente.", "O CPF fornecido já está em uso por outro cliente.");
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição gravou o cliente entre a leitura e o UPDATE (WHERE version = ?)
+            if (versaoEsperada != null) {
+                throw new PreconditionFailedException(Patches.VERSAO_DESATUALIZADA, e);
+            }
+            throw e;
+        }
+        cacheEvictionService.evictCliente(id);
+        ClienteDTO clienteAtualizadoDTO = convertToDTO(clienteAtualizado);
+        eventPublisher.publishEvent(ChangeDTO.upsert(clienteAtualizadoDTO));
+        return clienteAtualizadoDTO;
+    }
+
+    // Buscar clientes paginados por cursor (ID do último cliente da página anterior)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClienteDTO> getAllClientes(Long after, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("O parâmetro limit deve ser maior que zero.");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+
+        // Busca um registro a mais para saber se existe próxima página (projeções: nenhuma entidade gerenciada)
+        List<ClienteProjection> clientes = clienteRepository.findProjectionsAfter(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+
+        boolean hasNext = clientes.size() > pageSize;
+        List<ClienteProjection> pagina = hasNext ? clientes.subList(0, pageSize) : clientes;
+        Long nextCursor = hasNext ? pagina.get(pagina.size() - 1).id() : null;
+
+        return new CursorPageDTO<>(convertToDTOs(pagina), nextCursor, pageSize);
+    }
+
+    // Exportar clientes com endereços em NDJSON (um JSON por linha), a partir do ID informado
+    @Transactional(readOnly = true)
+    public void exportClientes(Long after, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClienteDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // A exportação lê da réplica: os clientes e endereços lidos não entram no cache de segundo nível
+        CacheMode cacheMode = ReadWriteRoutingDataSource.semAlimentarCache(entityManager);
+
+        try (Stream<Cliente> clientes = clienteRepository.streamByIdGreaterThan(after != null ? after : 0L);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // As linhas são separadas apenas por '\n' (sem o espaço padrão entre valores raiz)
+            generator.setRootValueSeparator(null);
+
+            List<Cliente> bloco = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Cliente> iterator = clientes.iterator();
+            while (iterator.hasNext()) {
+                bloco.add(iterator.next());
+                if (bloco.size() == EXPORT_CHUNK_SIZE) {
+                    escreverBloco(bloco, writer, generator);
+                }
+            }
+            escreverBloco(bloco, writer, generator);
+        } finally {
+            entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+        }
+    }
+
+    private void escreverBloco(List<Cliente> bloco, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        // Os endereços do bloco são carregados em um único SELECT ao converter o primeiro cliente
+        for (Cliente cliente : bloco) {
+            writer.writeValue(generator, convertToDTO(cliente));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        // Desanexar as entidades já escritas mantém o heap constante
+        bloco.clear();
+        entityManager.clear();
     }
 
-    // Buscar cliente por ID
+    // Buscar cliente por ID (read-through no cache de DTOs; cliente e endereços vêm do cache de segundo nível)
+    @Cacheable(cacheNames = CacheConfig.CLIENTES, key = "#id")
     public ClienteDTO getClienteById(Long id) {
-        Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente com ID " + id + " não encontrado"));
-        return convertToDTO(cliente);
+        // Requisições simultâneas para o mesmo cliente fora do cache dividem uma única carga e conversão (a transação
+        // somente leitura é aberta pelo SingleFlight, só para quem carrega)
+        return singleFlight.executar(SingleFlight.CLIENTE, id, () -> {
+            Cliente cliente = buscarComEnderecos(clienteRepository, entityManager, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente com ID " + id + " não encontrado"));
+            return convertToDTO(cliente);
+        });
+    }
+
+    // No cache de segundo nível, findById e a coleção de endereços não vão ao banco; fora dele, cliente e endereços
+    // vêm num único SELECT (entity graph), que também preenche o cache
+    static Optional<Cliente> buscarComEnderecos(ClienteRepository clienteRepository, EntityManager entityManager,
+                                                Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(Cliente.class, id)) {
+            return clienteRepository.findById(id);
+        }
+        return clienteRepository.findWithEnderecosById(id);
     }
 
     // Remover cliente
+    @Transactional
     public void deleteCliente(Long id) {
         Cliente cliente = clienteRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente com ID " + id + " não encontrado"));
         clienteRepository.delete(cliente);
+
+        // Os endereços do cliente são removidos em cascata (e também geram tombstones para o feed de alterações)
+        List<Tombstone> tombstones = new ArrayList<>();
+        cacheEvictionService.evictCliente(id);
+        if (cliente.getEnderecos() != null) {
+            cliente.getEnderecos().forEach(endereco -> {
+                cacheEvictionService.evictEndereco(endereco.getId());
+                tombstones.add(new Tombstone(Tombstone.ENDERECO, endereco.getId(), id));
+            });
+        }
+        tombstones.add(new Tombstone(Tombstone.CLIENTE, id, null));
+        tombstoneRepository.saveAll(tombstones);
+        tombstones.forEach(tombstone -> eventPublisher.publishEvent(ChangeDTO.delete(tombstone)));
     }
 
     // Associar endereço existente ao cliente
+    @Transactional
     public void addExistingEnderecoToCliente(Long clienteId, Long enderecoId) {
         // Buscar cliente pelo ID
         Cliente cliente = clienteRepository.findById(clienteId)
@@ -119,40 +366,205 @@ public class ClienteService {
         Endereco endereco = enderecoRepository.findById(enderecoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Endereço não encontrado com o ID: " + enderecoId));
 
+        // Guardar o dono anterior, cuja lista de endereços também muda
+        Long clienteAnteriorId = endereco.getCliente() != null ? endereco.getCliente().getId() : null;
+
         // Associar o endereço ao cliente
         endereco.setCliente(cliente);
 
-        // Salvar o endereço atualizado
-        enderecoRepository.save(endereco);
+        // Salvar o endereço atualizado; o flush preenche o updatedAt gravado, que é o instante do evento
+        enderecoRepository.saveAndFlush(endereco);
+        eventPublisher.publishEvent(new ChangeDTO(Tombstone.ENDERECO, ChangeDTO.UPSERT, enderecoId, clienteId,
+                endereco.getUpdatedAt()));
+        cacheEvictionService.evictCliente(clienteId);
+        cacheEvictionService.evictEndereco(enderecoId);
+        if (clienteAnteriorId != null && !clienteAnteriorId.equals(clienteId)) {
+            cacheEvictionService.evictCliente(clienteAnteriorId);
+        }
     }
 
     // Remover endereço do cliente
+    @Transactional
     public void removeEnderecoFromCliente(Long clienteId, Long enderecoId) {
         // Buscar cliente pelo ID
         Cliente cliente = clienteRepository.findById(clienteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
 
-        // Buscar o endereço associado ao cliente
-        Endereco enderecoToRemove = cliente.getEnderecos().stream()
-                .filter(endereco -> endereco.getId().equals(enderecoId))
-                .findFirst()
+        // Buscar só o endereço pelo ID (sem carregar a coleção do cliente) e conferir o dono; um UPDATE em massa
+        // limparia as regiões inteiras de endereços do cache de segundo nível
+        Endereco enderecoToRemove = enderecoRepository.findById(enderecoId)
+                .filter(endereco -> endereco.getCliente() != null && cliente.getId().equals(endereco.getCliente().getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Endereço não encontrado com o ID: " + enderecoId));
 
         // Desassociar o endereço do cliente
         enderecoToRemove.setCliente(null);
 
-        // Salvar a alteração no endereço
+        // Salvar a alteração no endereço; o tombstone avisa o feed de alterações do fim da associação
         enderecoRepository.save(enderecoToRemove);
+        Tombstone tombstone = new Tombstone(Tombstone.CLIENTE_ENDERECO, enderecoId, clienteId);
+        tombstoneRepository.save(tombstone);
+        eventPublisher.publishEvent(ChangeDTO.delete(tombstone));
+        cacheEvictionService.evictCliente(clienteId);
+        cacheEvictionService.evictEndereco(enderecoId);
     }
 
+    // Associar vários endereços ao cliente: posse validada em uma consulta e gravação em um único UPDATE
+    @Transactional
+    public EnderecoBulkResultDTO associarEnderecos(Long clienteId, List<Long> enderecoIds) {
+        List<Long> ids = validarListaDeEnderecos(enderecoIds);
+        Cliente cliente = clienteRepository.findById(clienteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
+        Map<Long, Long> donos = buscarDonos(ids);
+
+        List<EnderecoBulkItemResultDTO> results = new ArrayList<>(ids.size());
+        List<Long> alterados = new ArrayList<>();
+        Set<Long> donosAnteriores = new HashSet<>();
+        for (Long id : ids) {
+            if (!donos.containsKey(id)) {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.NOT_FOUND,
+                        "Endereço não encontrado com o ID: " + id));
+            } else if (clienteId.equals(donos.get(id))) {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.UNCHANGED, null));
+            } else {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.UPDATED, null));
+                alterados.add(id);
+                if (donos.get(id) != null) {
+                    donosAnteriores.add(donos.get(id));
+                }
+            }
+        }
+
+        if (!alterados.isEmpty()) {
+            Instant agora = agora();
+            verificarAlterados(enderecoRepository.associarAoCliente(cliente, alterados, agora), alterados);
+            alterados.forEach(id -> eventPublisher.publishEvent(
+                    new ChangeDTO(Tombstone.ENDERECO, ChangeDTO.UPSERT, id, clienteId, agora)));
+            evictAssociacao(clienteId, alterados, donosAnteriores);
+        }
+        return new EnderecoBulkResultDTO(results);
+    }
+
+    // Desassociar vários endereços do cliente: posse validada em uma consulta e gravação em um único UPDATE
+    @Transactional
+    public EnderecoBulkResultDTO desassociarEnderecos(Long clienteId, List<Long> enderecoIds) {
+        List<Long> ids = validarListaDeEnderecos(enderecoIds);
+        Cliente cliente = clienteRepository.findById(clienteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com o ID: " + clienteId));
+        Map<Long, Long> donos = buscarDonos(ids);
+
+        List<EnderecoBulkItemResultDTO> results = new ArrayList<>(ids.size());
+        List<Long> alterados = new ArrayList<>();
+        for (Long id : ids) {
+            if (!donos.containsKey(id)) {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.NOT_FOUND,
+                        "Endereço não encontrado com o ID: " + id));
+            } else if (!clienteId.equals(donos.get(id))) {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.NOT_ASSOCIATED,
+                        "O endereço não pertence ao cliente " + clienteId + "."));
+            } else {
+                results.add(new EnderecoBulkItemResultDTO(id, EnderecoBulkItemResultDTO.UPDATED, null));
+                alterados.add(id);
+            }
+        }
+
+        if (!alterados.isEmpty()) {
+            verificarAlterados(enderecoRepository.desassociarDoCliente(cliente, alterados, agora()), alterados);
+            List<Tombstone> tombstones = alterados.stream()
+                    .map(id -> new Tombstone(Tombstone.CLIENTE_ENDERECO, id, clienteId))
+                    .collect(Collectors.toList());
+            tombstoneRepository.saveAll(tombstones);
+            tombstones.forEach(tombstone -> eventPublisher.publishEvent(ChangeDTO.delete(tombstone)));
+            evictAssociacao(clienteId, alterados, Set.of());
+        }
+        return new EnderecoBulkResultDTO(results);
+    }
+
+    // Lista não vazia, dentro do limite e sem IDs repetidos (a ordem de envio é mantida no resultado)
+    private List<Long> validarListaDeEnderecos(List<Long> enderecoIds) {
+        if (enderecoIds == null || enderecoIds.isEmpty()) {
+            throw new BadRequestException("A lista de endereços está vazia.");
+        }
+        if (enderecoIds.contains(null)) {
+            throw new BadRequestException("A lista de endereços contém IDs nulos.");
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(enderecoIds));
+        if (ids.size() > maxBulkIds) {
+            throw new BadRequestException("A lista excede o limite de " + maxBulkIds + " endereços.");
+        }
+        return ids;
+    }
+
+    // ID do endereço -> ID do cliente dono (null quando o endereço não tem cliente), com as linhas travadas
+    private Map<Long, Long> buscarDonos(List<Long> ids) {
+        Map<Long, Long> donos = new HashMap<>();
+        for (EnderecoRepository.EnderecoDono dono : enderecoRepository.findDonos(ids)) {
+            donos.put(dono.getId(), dono.getClienteId());
+        }
+        return donos;
+    }
+
+    // Com as linhas travadas por buscarDonos o UPDATE altera exatamente os endereços validados; se a contagem diferir,
+    // a transação é desfeita e a requisição recebe 409 (conflito) para ser repetida
+    private static void verificarAlterados(int linhasAlteradas, List<Long> alterados) {
+        if (linhasAlteradas != alterados.size()) {
+            throw new OptimisticLockingFailureException("UPDATE em massa alterou " + linhasAlteradas + " de "
+                    + alterados.size() + " endereços.");
+        }
+    }
+
+    // O UPDATE em massa não passa pelos listeners do Hibernate: os DTOs em cache são removidos aqui
+    private void evictAssociacao(Long clienteId, List<Long> enderecoIds, Set<Long> donosAnteriores) {
+        cacheEvictionService.evictCliente(clienteId);
+        donosAnteriores.forEach(cacheEvictionService::evictCliente);
+        enderecoIds.forEach(cacheEvictionService::evictEndereco);
+    }
+
+    // Instante gravado em updatedAt pelos UPDATEs em massa, na mesma precisão do @UpdateTimestamp (microssegundos)
+    private static Instant agora() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    // Verificar se email ou CPF já pertencem a outro cliente (valores nulos não são consultados)
+    private void verificarUnicidade(Long id, String email, String cpf, String mensagemEmail, String mensagemCpf) {
+        if (email == null && cpf == null) {
+            return;
+        }
+
+        List<Cliente> existentes = clienteRepository.findByEmailOrCpf(email, cpf).stream()
+                .filter(cliente -> id == null || !id.equals(cliente.getId()))
+                .collect(Collectors.toList());
+        if (email != null && existentes.stream().anyMatch(cliente -> email.equals(cliente.getEmail()))) {
+            throw new BadRequestException(mensagemEmail);
+        }
+        if (cpf != null && existentes.stream().anyMatch(cliente -> cpf.equals(cliente.getCpf()))) {
+            throw new BadRequestException(mensagemCpf);
+        }
+    }
+
+    // Converter violação dos índices únicos de email/CPF na mensagem de negócio correspondente
+    private RuntimeException traduzirViolacaoDeUnicidade(DataIntegrityViolationException e,
+                                                         String mensagemEmail, String mensagemCpf) {
+        String detalhe = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (detalhe.contains(ClienteConstraints.UK_EMAIL)) {
+            return new BadRequestException(mensagemEmail);
+        }
+        if (detalhe.contains(ClienteConstraints.UK_CPF)) {
+            return new BadRequestException(mensagemCpf);
+        }
+        return e;
+    }
 
     // Converter Entidade para DTO
-    private ClienteDTO convertToDTO(Cliente cliente) {
+    public ClienteDTO convertToDTO(Cliente cliente) {
         if (cliente == null) {
             throw new NullPointerException("Cliente é nulo durante a conversão para DTO");
         }
 
         ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setId(cliente.getId());
+        clienteDTO.setVersion(cliente.getVersion());
+        clienteDTO.setCreatedAt(cliente.getCreatedAt());
+        clienteDTO.setUpdatedAt(cliente.getUpdatedAt());
         clienteDTO.setName(cliente.getName());
         clienteDTO.setEmail(cliente.getEmail());
         clienteDTO.setCpf(cliente.getCpf());
@@ -170,8 +582,44 @@ public class ClienteService {
         return clienteDTO;
     }
 
+    // Converter projeções para DTO, com os endereços da página inteira lidos em uma única consulta
+    private List<ClienteDTO> convertToDTOs(List<ClienteProjection> clientes) {
+        if (clientes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<EnderecoDTO>> enderecosPorCliente = new HashMap<>();
+        List<Long> ids = clientes.stream().map(ClienteProjection::id).collect(Collectors.toList());
+        for (EnderecoProjection endereco : enderecoRepository.findProjectionsByClienteIdIn(ids)) {
+            enderecosPorCliente.computeIfAbsent(endereco.clienteId(), id -> new ArrayList<>())
+                    .add(enderecoService.convertToDTO(endereco));
+        }
+
+        List<ClienteDTO> clientesDTO = new ArrayList<>(clientes.size());
+        for (ClienteProjection cliente : clientes) {
+            ClienteDTO clienteDTO = convertToDTO(cliente);
+            clienteDTO.setEnderecos(enderecosPorCliente.getOrDefault(cliente.id(), new ArrayList<>()));
+            clientesDTO.add(clienteDTO);
+        }
+        return clientesDTO;
+    }
+
+    // Converter projeção para DTO (sem a lista de endereços)
+    public ClienteDTO convertToDTO(ClienteProjection cliente) {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setId(cliente.id());
+        clienteDTO.setVersion(cliente.version());
+        clienteDTO.setCreatedAt(cliente.createdAt());
+        clienteDTO.setUpdatedAt(cliente.updatedAt());
+        clienteDTO.setName(cliente.name());
+        clienteDTO.setEmail(cliente.email());
+        clienteDTO.setCpf(cliente.cpf());
+        clienteDTO.setBirthDate(cliente.birthDate());
+        clienteDTO.setPhone(cliente.phone());
+        return clienteDTO;
+    }
+
     // Converter DTO para Entidade
-    private Cliente convertToEntity(ClienteDTO clienteDTO) {
+    public Cliente convertToEntity(ClienteDTO clienteDTO) {
         Cliente cliente = new Cliente();
         cliente.setName(clienteDTO.getName());
         cliente.setEmail(clienteDTO.getEmail());
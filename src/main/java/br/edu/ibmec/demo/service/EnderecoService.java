@@ -1,40 +1,98 @@
 package br.edu.ibmec.demo.service;
 
+import br.edu.ibmec.demo.configuration.CacheConfig;
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import br.edu.ibmec.demo.configuration.ReadWriteRoutingDataSource;
+import br.edu.ibmec.demo.dto.CepDTO;
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
 import br.edu.ibmec.demo.dto.EnderecoDTO;
 import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
 import br.edu.ibmec.demo.exception.ResourceNotFoundException;
 import br.edu.ibmec.demo.model.Cliente;
 import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.model.Tombstone;
 import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoProjection;
 import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.repository.TombstoneRepository;
+import br.edu.ibmec.demo.validation.CepIndex;
+import br.edu.ibmec.demo.validation.EnderecoValidator;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class EnderecoService {
 
     @Autowired
     private EnderecoRepository enderecoRepository;
     @Autowired
     private ClienteRepository clienteRepository;
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+    @Autowired
+    private CacheEvictionService cacheEvictionService;
+    @Autowired
+    private SingleFlight singleFlight;
+    @Autowired
+    private EnderecoValidator enderecoValidator;
+    @Autowired
+    private CepIndex cepIndex;
+    // Alterações publicadas para o stream SSE (entregues só após o commit)
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tamanho máximo de página aceito pelo servidor
+    @Value("${app.pagination.max-limit:100}")
+    private int maxPageSize = 100;
+
+    // Campos aceitos no PATCH; a associação ao cliente tem endpoints próprios
+    static final Set<String> CAMPOS_PATCH = Set.of("street", "number", "neighborhood", "city", "state", "zipCode");
 
     // Adicionar novo endereço
+    @Transactional
     public EnderecoDTO addEndereco(EnderecoDTO enderecoDTO) {
         validarEndereco(enderecoDTO);
         Endereco endereco = convertToEntity(enderecoDTO);
-        Endereco novoEndereco = enderecoRepository.save(endereco);
-        return convertToDTO(novoEndereco);
+        // O flush preenche createdAt/updatedAt (gerados no INSERT) antes da conversão
+        Endereco novoEndereco = enderecoRepository.saveAndFlush(endereco);
+        EnderecoDTO novoEnderecoDTO = convertToDTO(novoEndereco);
+        eventPublisher.publishEvent(ChangeDTO.upsert(novoEnderecoDTO, null));
+        return novoEnderecoDTO;
     }
 
     // Atualizar endereço existente
+    @Transactional
     public EnderecoDTO updateEndereco(Long id, EnderecoDTO enderecoDetailsDTO) {
+        return updateEndereco(id, enderecoDetailsDTO, null);
+    }
+
+    // Atualizar endereço existente somente se ainda estiver na versão esperada (null = sem verificação)
+    @Transactional
+    public EnderecoDTO updateEndereco(Long id, EnderecoDTO enderecoDetailsDTO, Long versaoEsperada) {
         validarEndereco(enderecoDetailsDTO);
         Endereco enderecoExistente = enderecoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Endereço com ID " + id + " não encontrado"));
+        Patches.verificarVersao(versaoEsperada, enderecoExistente.getVersion());
 
         // Atualizar os campos do endereço
         enderecoExistente.setStreet(enderecoDetailsDTO.getStreet());
@@ -44,32 +102,148 @@ public class EnderecoService {
         enderecoExistente.setState(enderecoDetailsDTO.getState());
         enderecoExistente.setZipCode(enderecoDetailsDTO.getZipCode());
 
-        Endereco enderecoAtualizado = enderecoRepository.save(enderecoExistente);
-        return convertToDTO(enderecoAtualizado);
+        return salvarAlteracao(enderecoExistente, versaoEsperada);
+    }
+
+    // Atualização parcial (JSON merge-patch): "campos" são os nomes presentes no corpo e "valores" os valores deles.
+    // Os erros reportados são só dos campos enviados (e do CEP quando muda o CEP, o estado ou a cidade, pois a
+    // consistência entre eles é conferida no CEP): dados antigos que não foram enviados não barram a alteração
+    @Transactional
+    public EnderecoDTO patchEndereco(Long id, EnderecoDTO valores, Set<String> campos, Long versaoEsperada) {
+        Patches.verificarCamposPatch(campos, CAMPOS_PATCH);
+        Endereco enderecoExistente = enderecoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Endereço com ID " + id + " não encontrado"));
+        Patches.verificarVersao(versaoEsperada, enderecoExistente.getVersion());
+
+        // Endereço resultante: valores atuais com os campos enviados por cima
+        EnderecoDTO resultado = convertToDTO(enderecoExistente);
+        if (campos.contains("street")) {
+            resultado.setStreet(valores.getStreet());
+        }
+        if (campos.contains("number")) {
+            resultado.setNumber(valores.getNumber());
+        }
+        if (campos.contains("neighborhood")) {
+            resultado.setNeighborhood(valores.getNeighborhood());
+        }
+        if (campos.contains("city")) {
+            resultado.setCity(valores.getCity());
+        }
+        if (campos.contains("state")) {
+            resultado.setState(valores.getState());
+        }
+        if (campos.contains("zipCode")) {
+            resultado.setZipCode(valores.getZipCode());
+        }
+
+        boolean cepAfetado = campos.contains("zipCode") || campos.contains("state") || campos.contains("city");
+        Map<String, String> errors = new LinkedHashMap<>(enderecoValidator.validar(resultado));
+        errors.keySet().removeIf(campo -> !campos.contains(campo) && !(cepAfetado && campo.equals("zipCode")));
+        if (!errors.isEmpty()) {
+            throw new BadRequestException("Erro de validação", errors);
+        }
+
+        // Campos não enviados têm o valor atual no resultado: só os alterados entram no UPDATE
+        boolean alterado = Patches.alterar(resultado.getStreet(), enderecoExistente.getStreet(), enderecoExistente::setStreet);
+        alterado |= Patches.alterar(resultado.getNumber(), enderecoExistente.getNumber(), enderecoExistente::setNumber);
+        alterado |= Patches.alterar(resultado.getNeighborhood(), enderecoExistente.getNeighborhood(), enderecoExistente::setNeighborhood);
+        alterado |= Patches.alterar(resultado.getCity(), enderecoExistente.getCity(), enderecoExistente::setCity);
+        alterado |= Patches.alterar(resultado.getState(), enderecoExistente.getState(), enderecoExistente::setState);
+        alterado |= Patches.alterar(resultado.getZipCode(), enderecoExistente.getZipCode(), enderecoExistente::setZipCode);
+
+        // Nada mudou: sem UPDATE, sem nova versão e sem evento
+        if (!alterado) {
+            return resultado;
+        }
+        return salvarAlteracao(enderecoExistente, versaoEsperada);
+    }
+
+    // Grava o endereço alterado, invalida os caches (dele e do dono) e publica a alteração
+    private EnderecoDTO salvarAlteracao(Endereco enderecoExistente, Long versaoEsperada) {
+        Long id = enderecoExistente.getId();
+        // O flush executa o UPDATE ... WHERE version = ? agora, e o DTO devolvido já traz a nova versão
+        Endereco enderecoAtualizado;
+        try {
+            enderecoAtualizado = enderecoRepository.saveAndFlush(enderecoExistente);
+        } catch (OptimisticLockingFailureException e) {
+            if (versaoEsperada != null) {
+                throw new PreconditionFailedException(Patches.VERSAO_DESATUALIZADA, e);
+            }
+            throw e;
+        }
+        cacheEvictionService.evictEndereco(id);
+        evictDono(enderecoExistente);
+        EnderecoDTO enderecoAtualizadoDTO = convertToDTO(enderecoAtualizado);
+        eventPublisher.publishEvent(ChangeDTO.upsert(enderecoAtualizadoDTO,
+                enderecoExistente.getCliente() != null ? enderecoExistente.getCliente().getId() : null));
+        return enderecoAtualizadoDTO;
     }
 
-    // Buscar todos os endereços
-    public List<EnderecoDTO> getAllEnderecos() {
-        return enderecoRepository.findAll().stream()
+    // Buscar endereços paginados por cursor (ID do último endereço da página anterior)
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EnderecoDTO> getAllEnderecos(Long after, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("O parâmetro limit deve ser maior que zero.");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+
+        // Busca um registro a mais para saber se existe próxima página (projeções: nenhuma entidade gerenciada)
+        List<EnderecoProjection> enderecos = enderecoRepository.findProjectionsAfter(
+                after != null ? after : 0L, Limit.of(pageSize + 1));
+
+        boolean hasNext = enderecos.size() > pageSize;
+        List<EnderecoProjection> pagina = hasNext ? enderecos.subList(0, pageSize) : enderecos;
+        Long nextCursor = hasNext ? pagina.get(pagina.size() - 1).id() : null;
+
+        List<EnderecoDTO> items = pagina.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, nextCursor, pageSize);
     }
 
-    // Buscar endereço por ID
+    // Buscar endereço por ID (read-through no cache de DTOs)
+    @Cacheable(cacheNames = CacheConfig.ENDERECOS, key = "#id")
+    @Transactional(readOnly = true)
     public EnderecoDTO getEnderecoById(Long id) {
-        Endereco endereco = enderecoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Endereço com ID " + id + " não encontrado"));
-        return convertToDTO(endereco);
+        // O DTO vai para o cache compartilhado: lê do primário, não da réplica
+        return ReadWriteRoutingDataSource.noPrimario(() -> {
+            Endereco endereco = enderecoRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Endereço com ID " + id + " não encontrado"));
+            return convertToDTO(endereco);
+        });
+    }
+
+    // UF e cidade do CEP pelas faixas de referência (sem acesso ao banco)
+    public CepDTO buscarCep(String cep) {
+        // Só dígitos ASCII: Character.isDigit aceitaria dígitos de outros alfabetos que o índice não conhece
+        int valor = CepIndex.cepParaInt(cep);
+        if (valor < 0) {
+            throw new BadRequestException("CEP deve seguir o padrão XXXXX-XXX");
+        }
+        int faixa = cepIndex.buscar(cep);
+        if (faixa < 0) {
+            throw new ResourceNotFoundException("CEP " + cep + " não encontrado");
+        }
+        String formatado = String.format("%05d-%03d", valor / 1000, valor % 1000);
+        return new CepDTO(formatado, cepIndex.uf(faixa), cepIndex.cidade(faixa));
     }
 
     // Remover endereço
+    @Transactional
     public void deleteEndereco(Long id) {
         Endereco endereco = enderecoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Endereço com ID " + id + " não encontrado"));
         enderecoRepository.delete(endereco);
+        Tombstone tombstone = new Tombstone(Tombstone.ENDERECO, id,
+                endereco.getCliente() != null ? endereco.getCliente().getId() : null);
+        tombstoneRepository.save(tombstone);
+        eventPublisher.publishEvent(ChangeDTO.delete(tombstone));
+        cacheEvictionService.evictEndereco(id);
+        evictDono(endereco);
     }
 
     // Associar endereço a um cliente existente
+    @Transactional
     public EnderecoDTO adicionarEnderecoAoCliente(Long clienteId, EnderecoDTO enderecoDTO) {
         Cliente cliente = clienteRepository.findById(clienteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + clienteId));
@@ -78,50 +252,41 @@ public class EnderecoService {
         Endereco endereco = convertToEntity(enderecoDTO);
         endereco.setCliente(cliente);
 
-        Endereco novoEndereco = enderecoRepository.save(endereco);
-        return convertToDTO(novoEndereco);
+        Endereco novoEndereco = enderecoRepository.saveAndFlush(endereco);
+        cacheEvictionService.evictCliente(clienteId);
+        EnderecoDTO novoEnderecoDTO = convertToDTO(novoEndereco);
+        eventPublisher.publishEvent(ChangeDTO.upsert(novoEnderecoDTO, clienteId));
+        return novoEnderecoDTO;
     }
 
-    // Validar campos do endereço
-    private void validarEndereco(EnderecoDTO enderecoDTO) {
-        // Validar presença de campos obrigatórios
-        if (enderecoDTO.getStreet() == null || enderecoDTO.getStreet().isEmpty() ||
-                enderecoDTO.getNumber() == null || enderecoDTO.getNumber().isEmpty() ||
-                enderecoDTO.getNeighborhood() == null || enderecoDTO.getNeighborhood().isEmpty() ||
-                enderecoDTO.getCity() == null || enderecoDTO.getCity().isEmpty() ||
-                enderecoDTO.getState() == null || enderecoDTO.getState().isEmpty() ||
-                enderecoDTO.getZipCode() == null || enderecoDTO.getZipCode().isEmpty()) {
-            throw new BadRequestException("Campos obrigatórios ausentes");
-        }
-
-        // Validar tamanho dos campos
-        if (enderecoDTO.getStreet().length() < 3 || enderecoDTO.getStreet().length() > 255 ||
-                enderecoDTO.getNeighborhood().length() < 3 || enderecoDTO.getNeighborhood().length() > 255 ||
-                enderecoDTO.getCity().length() < 3 || enderecoDTO.getCity().length() > 255) {
-            throw new BadRequestException("Campos rua, bairro ou cidade inválidos (mínimo 3, máximo 255 caracteres)");
-        }
-
-        // Validar estado
-        List<String> estadosValidos = Arrays.asList("AC", "AL", "AP", "AM", "BA", "CE", "DF", "ES", "GO", "MA",
-                "MT", "MS", "MG", "PA", "PB", "PR", "PE", "PI", "RJ", "RN", "RS", "RO", "RR", "SC", "SP", "SE", "TO");
-        if (!estadosValidos.contains(enderecoDTO.getState())) {
-            throw new BadRequestException("Estado inválido");
+    // O DTO do cliente dono do endereço contém o endereço, então também deixa de ser válido
+    private void evictDono(Endereco endereco) {
+        if (endereco.getCliente() != null) {
+            cacheEvictionService.evictCliente(endereco.getCliente().getId());
         }
+    }
 
-        // Validar formato do CEP
-        if (!enderecoDTO.getZipCode().matches("\\d{5}-\\d{3}")) {
-            throw new BadRequestException("CEP inválido (formato XXXXX-XXX)");
+    // Validar campos do endereço
+    private void validarEndereco(EnderecoDTO enderecoDTO) {
+        Map<String, String> errors = enderecoValidator.validar(enderecoDTO);
+        if (!errors.isEmpty()) {
+            throw new BadRequestException("Erro de validação", errors);
         }
     }
+
     public List<EnderecoDTO> getEnderecosByClienteId(Long id) {
-        // Buscar cliente pelo ID
-        Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id));
+        // Requisições simultâneas para o mesmo cliente dividem uma única carga (a lista devolvida é compartilhada);
+        // a transação somente leitura é aberta pelo SingleFlight, só para quem carrega
+        return singleFlight.executar(SingleFlight.ENDERECOS_DO_CLIENTE, id, () -> {
+            // Buscar cliente pelo ID (do cache de segundo nível quando presente, senão já com os endereços)
+            Cliente cliente = ClienteService.buscarComEnderecos(clienteRepository, entityManager, id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + id));
 
-        // Retornar endereços associados ao cliente como DTO
-        return cliente.getEnderecos().stream()
-                .map(this::convertToDTO) // Certifique-se de que o método de conversão existe
-                .collect(Collectors.toList());
+            // Retornar endereços associados ao cliente como DTO
+            return cliente.getEnderecos().stream()
+                    .map(this::convertToDTO) // Certifique-se de que o método de conversão existe
+                    .toList();
+        });
     }
 
     // Converter DTO para Entidade
@@ -137,10 +302,29 @@ public class EnderecoService {
         return endereco;
     }
 
+    // Converter projeção para DTO
+    public EnderecoDTO convertToDTO(EnderecoProjection endereco) {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setId(endereco.id());
+        enderecoDTO.setVersion(endereco.version());
+        enderecoDTO.setCreatedAt(endereco.createdAt());
+        enderecoDTO.setUpdatedAt(endereco.updatedAt());
+        enderecoDTO.setStreet(endereco.street());
+        enderecoDTO.setNumber(endereco.number());
+        enderecoDTO.setNeighborhood(endereco.neighborhood());
+        enderecoDTO.setCity(endereco.city());
+        enderecoDTO.setState(endereco.state());
+        enderecoDTO.setZipCode(endereco.zipCode());
+        return enderecoDTO;
+    }
+
     // Converter Entidade para DTO
     public EnderecoDTO convertToDTO(Endereco endereco) {
         EnderecoDTO enderecoDTO = new EnderecoDTO();
         enderecoDTO.setId(endereco.getId());
+        enderecoDTO.setVersion(endereco.getVersion());
+        enderecoDTO.setCreatedAt(endereco.getCreatedAt());
+        enderecoDTO.setUpdatedAt(endereco.getUpdatedAt());
         enderecoDTO.setStreet(endereco.getStreet());
         enderecoDTO.setNumber(endereco.getNumber());
         enderecoDTO.setNeighborhood(endereco.getNeighborhood());
@@ -0,0 +1,44 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+// Regras comuns às atualizações de clientes e endereços: campos aceitos no PATCH, aplicação só do que mudou e
+// controle otimista pela versão (If-Match)
+final class Patches {
+
+    static final String VERSAO_DESATUALIZADA = "O registro foi alterado desde a última leitura (If-Match).";
+
+    private Patches() {
+    }
+
+    // Campos do PATCH fora da lista aceita são recusados (em vez de ignorados sem aviso)
+    static void verificarCamposPatch(Set<String> campos, Set<String> aceitos) {
+        Set<String> recusados = new TreeSet<>(campos);
+        recusados.removeAll(aceitos);
+        if (!recusados.isEmpty()) {
+            throw new BadRequestException("Campos que não podem ser alterados por PATCH: " + String.join(", ", recusados));
+        }
+    }
+
+    // Aplica o valor somente se ele difere do atual; retorna se houve alteração
+    static <T> boolean alterar(T novo, T atual, Consumer<T> setter) {
+        if (Objects.equals(novo, atual)) {
+            return false;
+        }
+        setter.accept(novo);
+        return true;
+    }
+
+    // Controle otimista: a versão carregada deve ser a que o chamador conhecia
+    static void verificarVersao(Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new PreconditionFailedException(VERSAO_DESATUALIZADA);
+        }
+    }
+}
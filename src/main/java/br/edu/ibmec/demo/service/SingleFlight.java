@@ -0,0 +1,89 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Leituras simultâneas da mesma chave compartilham uma única execução: a primeira chamada carrega do banco e as que
+// chegam enquanto ela está em andamento esperam o mesmo resultado (ou a mesma exceção). Nada fica guardado depois
+// que a carga termina; o cache de DTOs continua sendo o cache.
+// Só a carga roda numa transação somente leitura, aberta aqui: quem espera a carga de outro não ocupa conexão do pool.
+// A carga lê do primário: o resultado alimenta os caches compartilhados (DTOs e segundo nível)
+@Component
+public class SingleFlight {
+
+    // Operações compartilhadas (chave = ID do cliente)
+    public static final String CLIENTE = "cliente";
+    public static final String ENDERECOS_DO_CLIENTE = "enderecosDoCliente";
+
+    // Chamadas que aproveitaram a carga de outra (tag operation)
+    public static final String COALESCED = "app.singleflight.coalesced";
+
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate somenteLeitura;
+
+    private final ConcurrentHashMap<Chamada, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry, PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.somenteLeitura = new TransactionTemplate(transactionManager);
+        this.somenteLeitura.setReadOnly(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String operacao, Object chave, Supplier<T> carga) {
+        // Numa transação de escrita a leitura precisa ver as alterações ainda não confirmadas dela mesma
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return carga.get();
+        }
+        Chamada chamada = new Chamada(operacao, chave);
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> existente = emAndamento.putIfAbsent(chamada, nova);
+        if (existente != null) {
+            meterRegistry.counter(COALESCED, "operation", operacao).increment();
+            return (T) aguardar(existente);
+        }
+        try {
+            T resultado = ReadWriteRoutingDataSource.noPrimario(() -> somenteLeitura.execute(status -> carga.get()));
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chamada, nova);
+        }
+    }
+
+    // A carga em andamento começou antes de uma alteração: quem chegar depois faz uma leitura nova
+    public void esquecer(String operacao, Object chave) {
+        emAndamento.remove(new Chamada(operacao, chave));
+    }
+
+    private static Object aguardar(CompletableFuture<Object> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            // A mesma exceção da carga (ex.: ResourceNotFoundException) chega a todos que esperavam
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private record Chamada(String operacao, Object chave) {
+    }
+}
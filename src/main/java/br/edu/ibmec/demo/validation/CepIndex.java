@@ -0,0 +1,289 @@
+package br.edu.ibmec.demo.validation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Índice de faixas de CEP (UF e cidade) mapeado em memória.
+// O arquivo de faixas (inicio,fim,uf,cidade) é compilado em segmentos disjuntos e ordenados, gravados como três
+// vetores de int (início, fim, informação) num arquivo binário que é mapeado somente leitura. A consulta é uma
+// busca binária por getInt absoluto: sem objetos por consulta e sem cópia dos vetores para o heap
+public final class CepIndex {
+
+    // Cabeçalho: quantidade de segmentos
+    private static final int CABECALHO = Integer.BYTES;
+
+    private final MappedByteBuffer dados;
+    private final int tamanho;
+    private final String[] cidades;
+
+    private CepIndex(MappedByteBuffer dados, String[] cidades) {
+        this.dados = dados;
+        this.tamanho = dados.getInt(0);
+        this.cidades = cidades;
+    }
+
+    // Lê o arquivo de faixas, grava o índice binário em arquivoIndice e o mapeia em memória
+    public static CepIndex criar(Reader faixas, Path arquivoIndice) throws IOException {
+        List<Faixa> lidas = ler(faixas);
+        List<String> cidades = new ArrayList<>();
+        Map<String, Integer> cidadePorNome = new HashMap<>();
+        List<int[]> segmentos = segmentar(lidas, cidades, cidadePorNome);
+
+        int n = segmentos.size();
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + 3 * n * Integer.BYTES).order(ByteOrder.nativeOrder());
+        buffer.putInt(n);
+        for (int[] segmento : segmentos) {
+            buffer.putInt(segmento[0]);
+        }
+        for (int[] segmento : segmentos) {
+            buffer.putInt(segmento[1]);
+        }
+        for (int[] segmento : segmentos) {
+            buffer.putInt(segmento[2]);
+        }
+        buffer.flip();
+        try (FileChannel canal = FileChannel.open(arquivoIndice, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivoIndice, StandardOpenOption.READ)) {
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            mapeado.order(ByteOrder.nativeOrder());
+            return new CepIndex(mapeado, cidades.toArray(new String[0]));
+        }
+    }
+
+    // Variante com arquivo de índice temporário (removido ao encerrar a JVM)
+    public static CepIndex criar(Reader faixas) throws IOException {
+        Path arquivoIndice = Files.createTempFile("cep-index", ".bin");
+        arquivoIndice.toFile().deleteOnExit();
+        return criar(faixas, arquivoIndice);
+    }
+
+    // Posição do segmento que contém o CEP, ou -1 se o CEP é inválido ou não pertence a nenhuma faixa
+    public int buscar(CharSequence cep) {
+        int valor = cepParaInt(cep);
+        if (valor < 0) {
+            return -1;
+        }
+        // Último segmento com início <= valor
+        int baixo = 0;
+        int alto = tamanho - 1;
+        int encontrado = -1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (inicio(meio) <= valor) {
+                encontrado = meio;
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        return encontrado >= 0 && valor <= fim(encontrado) ? encontrado : -1;
+    }
+
+    // UF do segmento retornado por buscar
+    public String uf(int posicao) {
+        return EnderecoValidator.UFS[info(posicao) >>> 24];
+    }
+
+    // Cidade do segmento retornado por buscar, ou null quando a faixa só identifica a UF
+    public String cidade(int posicao) {
+        int cidade = info(posicao) & 0xFFFFFF;
+        return cidade == 0 ? null : cidades[cidade - 1];
+    }
+
+    // Compara a cidade do segmento ignorando maiúsculas, acentos e espaços nas pontas (true se a faixa não tem cidade)
+    public boolean mesmaCidade(int posicao, String cidade) {
+        String referencia = cidade(posicao);
+        if (referencia == null) {
+            return true;
+        }
+        int inicio = 0;
+        int fim = cidade.length();
+        while (inicio < fim && Character.isWhitespace(cidade.charAt(inicio))) {
+            inicio++;
+        }
+        while (fim > inicio && Character.isWhitespace(cidade.charAt(fim - 1))) {
+            fim--;
+        }
+        if (fim - inicio != referencia.length()) {
+            return false;
+        }
+        for (int i = 0; i < referencia.length(); i++) {
+            if (normalizar(referencia.charAt(i)) != normalizar(cidade.charAt(inicio + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Quantidade de segmentos do índice
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // CEP como inteiro de 8 dígitos (aceita XXXXX-XXX e XXXXXXXX), ou -1 se o formato é inválido
+    public static int cepParaInt(CharSequence cep) {
+        int comprimento = cep.length();
+        if (comprimento != 8 && !(comprimento == 9 && cep.charAt(5) == '-')) {
+            return -1;
+        }
+        int valor = 0;
+        for (int i = 0; i < comprimento; i++) {
+            if (comprimento == 9 && i == 5) {
+                continue;
+            }
+            char c = cep.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    private int inicio(int posicao) {
+        return dados.getInt(CABECALHO + posicao * Integer.BYTES);
+    }
+
+    private int fim(int posicao) {
+        return dados.getInt(CABECALHO + (tamanho + posicao) * Integer.BYTES);
+    }
+
+    private int info(int posicao) {
+        return dados.getInt(CABECALHO + (2 * tamanho + posicao) * Integer.BYTES);
+    }
+
+    // Minúscula sem acento (Latin-1), suficiente para nomes de municípios
+    private static char normalizar(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (c < 0xC0 || c > 0xFF) {
+            return c;
+        }
+        switch (Character.toLowerCase(c)) {
+            case 'á': case 'à': case 'â': case 'ã': case 'ä':
+                return 'a';
+            case 'é': case 'è': case 'ê': case 'ë':
+                return 'e';
+            case 'í': case 'ì': case 'î': case 'ï':
+                return 'i';
+            case 'ó': case 'ò': case 'ô': case 'õ': case 'ö':
+                return 'o';
+            case 'ú': case 'ù': case 'û': case 'ü':
+                return 'u';
+            case 'ç':
+                return 'c';
+            default:
+                return Character.toLowerCase(c);
+        }
+    }
+
+    private record Faixa(int inicio, int fim, int uf, String cidade, int linha) {
+    }
+
+    private static List<Faixa> ler(Reader faixas) throws IOException {
+        List<Faixa> lidas = new ArrayList<>();
+        BufferedReader leitor = new BufferedReader(faixas);
+        String linha;
+        int numero = 0;
+        while ((linha = leitor.readLine()) != null) {
+            numero++;
+            if (linha.isBlank() || linha.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linha.split(",", -1);
+            if (campos.length != 4) {
+                throw new IllegalArgumentException("Faixa de CEP inválida na linha " + numero + ": " + linha);
+            }
+            int inicio = cepParaInt(campos[0].trim());
+            int fim = cepParaInt(campos[1].trim());
+            String uf = campos[2].trim();
+            int posicaoUf = Arrays.asList(EnderecoValidator.UFS).indexOf(uf);
+            if (inicio < 0 || fim < inicio || posicaoUf < 0) {
+                throw new IllegalArgumentException("Faixa de CEP inválida na linha " + numero + ": " + linha);
+            }
+            String cidade = campos[3].trim();
+            lidas.add(new Faixa(inicio, fim, posicaoUf, cidade.isEmpty() ? null : cidade, numero));
+        }
+        return lidas;
+    }
+
+    // Converte faixas aninhadas (cidade dentro da UF) em segmentos disjuntos em que a faixa mais interna prevalece.
+    // Faixas que se cruzam parcialmente são rejeitadas
+    private static List<int[]> segmentar(List<Faixa> faixas, List<String> cidades, Map<String, Integer> cidadePorNome) {
+        List<Faixa> ordenadas = new ArrayList<>(faixas);
+        ordenadas.sort(Comparator.comparingInt(Faixa::inicio)
+                .thenComparing(Comparator.comparingInt(Faixa::fim).reversed())
+                .thenComparing(faixa -> faixa.cidade() != null));
+
+        List<int[]> segmentos = new ArrayList<>();
+        Deque<Faixa> abertas = new ArrayDeque<>();
+        // Próximo CEP ainda não coberto por um segmento emitido
+        int cursor = 0;
+        for (Faixa faixa : ordenadas) {
+            while (!abertas.isEmpty() && abertas.peek().fim() < faixa.inicio()) {
+                Faixa fechada = abertas.pop();
+                cursor = emitir(segmentos, fechada, cursor, fechada.fim(), cidades, cidadePorNome);
+            }
+            Faixa externa = abertas.peek();
+            if (externa != null) {
+                if (faixa.fim() > externa.fim()) {
+                    throw new IllegalArgumentException("Faixas de CEP sobrepostas nas linhas "
+                            + externa.linha() + " e " + faixa.linha());
+                }
+                if (faixa.uf() != externa.uf()) {
+                    throw new IllegalArgumentException("Faixa de CEP da linha " + faixa.linha()
+                            + " está dentro de uma faixa de outra UF (linha " + externa.linha() + ")");
+                }
+                cursor = emitir(segmentos, externa, cursor, faixa.inicio() - 1, cidades, cidadePorNome);
+            }
+            cursor = Math.max(cursor, faixa.inicio());
+            abertas.push(faixa);
+        }
+        while (!abertas.isEmpty()) {
+            Faixa fechada = abertas.pop();
+            cursor = emitir(segmentos, fechada, cursor, fechada.fim(), cidades, cidadePorNome);
+        }
+        return segmentos;
+    }
+
+    // Emite o trecho [cursor, ate] da faixa (se não vazio) e retorna o novo cursor
+    private static int emitir(List<int[]> segmentos, Faixa faixa, int cursor, int ate,
+                              List<String> cidades, Map<String, Integer> cidadePorNome) {
+        int inicio = Math.max(cursor, faixa.inicio());
+        if (inicio > ate) {
+            return cursor;
+        }
+        int cidade = 0;
+        if (faixa.cidade() != null) {
+            cidade = cidadePorNome.computeIfAbsent(faixa.uf() + "|" + faixa.cidade(), chave -> {
+                cidades.add(faixa.cidade());
+                return cidades.size();
+            });
+        }
+        int info = faixa.uf() << 24 | cidade;
+        int[] anterior = segmentos.isEmpty() ? null : segmentos.get(segmentos.size() - 1);
+        if (anterior != null && anterior[1] == inicio - 1 && anterior[2] == info) {
+            // Trechos contíguos da mesma UF/cidade viram um só segmento
+            anterior[1] = ate;
+        } else {
+            segmentos.add(new int[]{inicio, ate, info});
+        }
+        return ate + 1;
+    }
+}
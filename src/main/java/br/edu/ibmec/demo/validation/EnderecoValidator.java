@@ -0,0 +1,152 @@
+package br.edu.ibmec.demo.validation;
+
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Validação única dos campos de endereço, usada pelo EnderecoService e pelo @Valid (via @EnderecoValido).
+// Sem regex e sem alocação no caminho feliz: o mapa de erros só é criado quando há erro
+@Component
+public class EnderecoValidator {
+
+    static final String[] UFS = {"AC", "AL", "AP", "AM", "BA", "CE", "DF", "ES", "GO", "MA", "MT", "MS", "MG", "PA",
+            "PB", "PR", "PE", "PI", "RJ", "RN", "RS", "RO", "RR", "SC", "SP", "SE", "TO"};
+
+    // Tabela indexada pelas duas letras da UF (26 x 26): consulta em tempo constante
+    private static final boolean[] UF_VALIDA = new boolean[26 * 26];
+
+    static {
+        for (String uf : UFS) {
+            UF_VALIDA[(uf.charAt(0) - 'A') * 26 + (uf.charAt(1) - 'A')] = true;
+        }
+    }
+
+    // Faixas de CEP de referência (ausente nos testes unitários: só o formato do CEP é verificado)
+    @Autowired(required = false)
+    private CepIndex cepIndex;
+
+    public EnderecoValidator() {
+    }
+
+    public EnderecoValidator(CepIndex cepIndex) {
+        this.cepIndex = cepIndex;
+    }
+
+    // Valida o endereço e retorna os erros por campo (mapa vazio quando o endereço é válido)
+    public Map<String, String> validar(EnderecoDTO enderecoDTO) {
+        Map<String, String> errors = Map.of();
+
+        String street = enderecoDTO.getStreet();
+        if (isBlank(street)) {
+            errors = erro(errors, "street", "Rua é obrigatória");
+        } else if (street.length() < 3 || street.length() > 255) {
+            errors = erro(errors, "street", "Rua deve ter entre 3 e 255 caracteres");
+        }
+
+        String number = enderecoDTO.getNumber();
+        if (isBlank(number)) {
+            errors = erro(errors, "number", "Número é obrigatório");
+        } else if (!isAlfanumerico(number)) {
+            errors = erro(errors, "number", "Número deve ser um valor numérico ou alfanumérico");
+        }
+
+        String neighborhood = enderecoDTO.getNeighborhood();
+        if (isBlank(neighborhood)) {
+            errors = erro(errors, "neighborhood", "Bairro é obrigatório");
+        } else if (neighborhood.length() < 3 || neighborhood.length() > 100) {
+            errors = erro(errors, "neighborhood", "Bairro deve ter entre 3 e 100 caracteres");
+        }
+
+        String city = enderecoDTO.getCity();
+        if (isBlank(city)) {
+            errors = erro(errors, "city", "Cidade é obrigatória");
+        } else if (city.length() < 3 || city.length() > 100) {
+            errors = erro(errors, "city", "Cidade deve ter entre 3 e 100 caracteres");
+        }
+
+        String state = enderecoDTO.getState();
+        if (isBlank(state)) {
+            errors = erro(errors, "state", "Estado é obrigatório");
+        } else if (!isUf(state)) {
+            errors = erro(errors, "state", "Estado deve ser válido (ex.: SP, RJ)");
+        }
+
+        String zipCode = enderecoDTO.getZipCode();
+        if (isBlank(zipCode)) {
+            errors = erro(errors, "zipCode", "CEP é obrigatório");
+        } else if (!isCep(zipCode)) {
+            errors = erro(errors, "zipCode", "CEP deve seguir o padrão XXXXX-XXX");
+        } else if (cepIndex != null) {
+            // CEP existente e compatível com estado e cidade informados
+            int faixa = cepIndex.buscar(zipCode);
+            if (faixa < 0) {
+                errors = erro(errors, "zipCode", "CEP inexistente");
+            } else if (state != null && isUf(state) && !cepIndex.uf(faixa).equals(state)) {
+                errors = erro(errors, "zipCode", "CEP pertence ao estado " + cepIndex.uf(faixa));
+            } else if (!isBlank(city) && !cepIndex.mesmaCidade(faixa, city)) {
+                errors = erro(errors, "zipCode", "CEP pertence à cidade " + cepIndex.cidade(faixa));
+            }
+        }
+
+        return errors;
+    }
+
+    public static boolean isUf(String valor) {
+        if (valor.length() != 2) {
+            return false;
+        }
+        int primeira = valor.charAt(0) - 'A';
+        int segunda = valor.charAt(1) - 'A';
+        return primeira >= 0 && primeira < 26 && segunda >= 0 && segunda < 26
+                && UF_VALIDA[primeira * 26 + segunda];
+    }
+
+    // Formato XXXXX-XXX
+    public static boolean isCep(String valor) {
+        if (valor.length() != 9 || valor.charAt(5) != '-') {
+            return false;
+        }
+        for (int i = 0; i < 9; i++) {
+            if (i != 5 && !isDigito(valor.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Letras, dígitos e '_' (equivalente ao antigo ^[\d\w]+$)
+    static boolean isAlfanumerico(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (!isDigito(c) && !(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && c != '_') {
+                return false;
+            }
+        }
+        return !valor.isEmpty();
+    }
+
+    private static boolean isDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isBlank(String valor) {
+        if (valor == null) {
+            return true;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            if (!Character.isWhitespace(valor.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, String> erro(Map<String, String> errors, String campo, String mensagem) {
+        Map<String, String> resultado = errors.isEmpty() ? new LinkedHashMap<>() : errors;
+        resultado.put(campo, mensagem);
+        return resultado;
+    }
+}
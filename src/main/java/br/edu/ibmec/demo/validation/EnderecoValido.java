@@ -0,0 +1,20 @@
+package br.edu.ibmec.demo.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+// Aplica o EnderecoValidator na validação de beans (@Valid); cada erro é reportado no campo correspondente
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Constraint(validatedBy = EnderecoValidoConstraintValidator.class)
+public @interface EnderecoValido {
+
+    String message() default "Endereço inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
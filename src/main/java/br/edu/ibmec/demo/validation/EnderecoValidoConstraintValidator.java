@@ -0,0 +1,33 @@
+package br.edu.ibmec.demo.validation;
+
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+public class EnderecoValidoConstraintValidator implements ConstraintValidator<EnderecoValido, EnderecoDTO> {
+
+    @Autowired
+    private EnderecoValidator enderecoValidator;
+
+    @Override
+    public boolean isValid(EnderecoDTO enderecoDTO, ConstraintValidatorContext context) {
+        if (enderecoDTO == null) {
+            return true;
+        }
+
+        Map<String, String> errors = enderecoValidator.validar(enderecoDTO);
+        if (errors.isEmpty()) {
+            return true;
+        }
+
+        context.disableDefaultConstraintViolation();
+        errors.forEach((campo, mensagem) -> context
+                .buildConstraintViolationWithTemplate(mensagem)
+                .addPropertyNode(campo)
+                .addConstraintViolation());
+        return false;
+    }
+}
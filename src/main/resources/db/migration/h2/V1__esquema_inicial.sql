@@ -0,0 +1,21 @@
+-- Esquema original, como criado pelo ddl-auto=update (mesma estrutura de db/migration/mysql)
+CREATE TABLE cliente (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    birth_date DATE,
+    cpf        VARCHAR(255),
+    email      VARCHAR(255),
+    name       VARCHAR(255),
+    phone      VARCHAR(255)
+);
+
+CREATE TABLE endereco (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    city         VARCHAR(100) NOT NULL,
+    neighborhood VARCHAR(100) NOT NULL,
+    number       VARCHAR(255) NOT NULL,
+    state        VARCHAR(255) NOT NULL,
+    street       VARCHAR(255) NOT NULL,
+    zip_code     VARCHAR(255) NOT NULL,
+    cliente_id   BIGINT,
+    CONSTRAINT fk_endereco_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id)
+);
@@ -0,0 +1,24 @@
+-- Índices, restrições únicas, colunas de versão e sequências usados pelo código atual (ver db/migration/mysql)
+
+-- Bloqueio otimista (@Version) usado pelas ETags e pelo If-Match
+ALTER TABLE cliente ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE endereco ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Unicidade de email e CPF (as violações são traduzidas pelo nome da restrição)
+ALTER TABLE cliente ADD CONSTRAINT IF NOT EXISTS uk_cliente_email UNIQUE (email);
+ALTER TABLE cliente ADD CONSTRAINT IF NOT EXISTS uk_cliente_cpf UNIQUE (cpf);
+
+-- Busca por prefixo do nome com desempate por ID
+CREATE INDEX IF NOT EXISTS idx_cliente_name ON cliente (name, id);
+
+-- Endereços de um cliente
+CREATE INDEX IF NOT EXISTS idx_endereco_cliente_id ON endereco (cliente_id);
+
+-- Busca de clientes por cidade, estado e prefixo de CEP
+CREATE INDEX IF NOT EXISTS idx_endereco_city ON endereco (city, cliente_id);
+CREATE INDEX IF NOT EXISTS idx_endereco_state ON endereco (state, cliente_id);
+CREATE INDEX IF NOT EXISTS idx_endereco_zip_code ON endereco (zip_code, cliente_id);
+
+-- Sequências do Hibernate (pooled-lo, allocationSize = 50)
+CREATE SEQUENCE IF NOT EXISTS cliente_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS endereco_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,22 @@
+-- Feed de alterações: instantes de criação/alteração e tombstones das remoções (ver db/migration/mysql)
+
+-- Registros anteriores recebem o instante da migração
+ALTER TABLE cliente ADD COLUMN created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE cliente ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE endereco ADD COLUMN created_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+ALTER TABLE endereco ADD COLUMN updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP(6) NOT NULL;
+
+-- Leitura do feed a partir do cursor (instante, id)
+CREATE INDEX idx_cliente_updated_at ON cliente (updated_at, id);
+CREATE INDEX idx_endereco_updated_at ON endereco (updated_at, id);
+
+CREATE TABLE tombstone (
+    id BIGINT NOT NULL PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    cliente_id BIGINT,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX idx_tombstone_deleted_at ON tombstone (deleted_at, id);
+
+CREATE SEQUENCE tombstone_seq START WITH 1 INCREMENT BY 50;
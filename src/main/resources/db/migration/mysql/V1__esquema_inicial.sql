@@ -0,0 +1,24 @@
+-- Esquema original, como criado pelo ddl-auto=update. Bancos que já existiam antes das migrações são marcados
+-- como V1 (spring.flyway.baseline-on-migrate) e recebem apenas as versões seguintes
+CREATE TABLE cliente (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    birth_date DATE,
+    cpf        VARCHAR(255),
+    email      VARCHAR(255),
+    name       VARCHAR(255),
+    phone      VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE endereco (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    city         VARCHAR(100) NOT NULL,
+    neighborhood VARCHAR(100) NOT NULL,
+    number       VARCHAR(255) NOT NULL,
+    state        VARCHAR(255) NOT NULL,
+    street       VARCHAR(255) NOT NULL,
+    zip_code     VARCHAR(255) NOT NULL,
+    cliente_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_endereco_cliente FOREIGN KEY (cliente_id) REFERENCES cliente (id)
+) ENGINE = InnoDB;
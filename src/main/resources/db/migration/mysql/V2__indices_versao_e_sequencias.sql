@@ -0,0 +1,71 @@
+-- Índices, restrições únicas, colunas de versão e tabelas de sequência usados pelo código atual.
+-- O ddl-auto=update pode ter criado parte disso em bancos antigos, e o MySQL não tem ADD COLUMN/CREATE INDEX
+-- IF NOT EXISTS: cada alteração só é executada quando o objeto ainda não existe (consulta ao information_schema)
+
+-- Bloqueio otimista (@Version) usado pelas ETags e pelo If-Match
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'cliente' AND column_name = 'version') = 0,
+    'ALTER TABLE cliente ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() AND table_name = 'endereco' AND column_name = 'version') = 0,
+    'ALTER TABLE endereco ADD COLUMN version BIGINT NOT NULL DEFAULT 0', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Unicidade de email e CPF (as violações são traduzidas pelo nome da restrição)
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'cliente' AND index_name = 'uk_cliente_email') = 0,
+    'ALTER TABLE cliente ADD CONSTRAINT uk_cliente_email UNIQUE (email)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'cliente' AND index_name = 'uk_cliente_cpf') = 0,
+    'ALTER TABLE cliente ADD CONSTRAINT uk_cliente_cpf UNIQUE (cpf)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Busca por prefixo do nome com desempate por ID
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'cliente' AND index_name = 'idx_cliente_name') = 0,
+    'CREATE INDEX idx_cliente_name ON cliente (name, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Endereços de um cliente; substitui o índice implícito da chave estrangeira
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'endereco' AND index_name = 'idx_endereco_cliente_id') = 0,
+    'CREATE INDEX idx_endereco_cliente_id ON endereco (cliente_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Busca de clientes por cidade, estado e prefixo de CEP
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'endereco' AND index_name = 'idx_endereco_city') = 0,
+    'CREATE INDEX idx_endereco_city ON endereco (city, cliente_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'endereco' AND index_name = 'idx_endereco_state') = 0,
+    'CREATE INDEX idx_endereco_state ON endereco (state, cliente_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = 'endereco' AND index_name = 'idx_endereco_zip_code') = 0,
+    'CREATE INDEX idx_endereco_zip_code ON endereco (zip_code, cliente_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Sequências do Hibernate (tabelas no MySQL) começando depois do maior ID já gravado por IDENTITY
+CREATE TABLE IF NOT EXISTS cliente_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO cliente_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM cliente WHERE NOT EXISTS (SELECT 1 FROM cliente_seq);
+
+CREATE TABLE IF NOT EXISTS endereco_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO endereco_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 1 FROM endereco WHERE NOT EXISTS (SELECT 1 FROM endereco_seq);
@@ -0,0 +1,30 @@
+-- Feed de alterações: instantes de criação/alteração e tombstones das remoções.
+-- Os instantes são gravados em UTC (Instant); os registros anteriores recebem o instante da migração
+
+ALTER TABLE cliente
+    ADD COLUMN created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE cliente SET created_at = UTC_TIMESTAMP(6), updated_at = UTC_TIMESTAMP(6);
+
+ALTER TABLE endereco
+    ADD COLUMN created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6);
+UPDATE endereco SET created_at = UTC_TIMESTAMP(6), updated_at = UTC_TIMESTAMP(6);
+
+-- Leitura do feed a partir do cursor (instante, id)
+CREATE INDEX idx_cliente_updated_at ON cliente (updated_at, id);
+CREATE INDEX idx_endereco_updated_at ON endereco (updated_at, id);
+
+CREATE TABLE tombstone (
+    id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    cliente_id BIGINT,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+CREATE INDEX idx_tombstone_deleted_at ON tombstone (deleted_at, id);
+
+-- Sequência do Hibernate (tabela no MySQL, pooled-lo com allocationSize = 50)
+CREATE TABLE tombstone_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO tombstone_seq (next_val) VALUES (1);
@@ -0,0 +1,110 @@
+package br.edu.ibmec.demo;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Dados de teste compartilhados pelos testes de integração. CPF e email vêm de uma única sequência para toda a
+// execução, iniciada num ponto aleatório: não colidem entre classes nem com o que ficou de execuções anteriores
+// num banco persistente. O dígito verificador "99" os separa dos CPFs fixos usados nos testes
+public final class TestFixtures {
+
+    private static final AtomicLong SEQUENCIA =
+            new AtomicLong(ThreadLocalRandom.current().nextLong(1_000_000L, 900_000_000L));
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TestFixtures() {
+    }
+
+    // Cliente válido e ainda não cadastrado, sem endereços
+    public static ClienteDTO novoClienteDTO() {
+        return novoClienteDTO(0);
+    }
+
+    // Cliente válido e ainda não cadastrado, com a quantidade de endereços informada (números 0, 1, ...)
+    public static ClienteDTO novoClienteDTO(int enderecos) {
+        long n = SEQUENCIA.incrementAndGet();
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setName("Cliente " + n);
+        clienteDTO.setEmail("cliente" + n + "@example.com");
+        clienteDTO.setCpf(String.format("%03d.%03d.%03d-99", n / 1_000_000, n / 1_000 % 1_000, n % 1_000));
+        clienteDTO.setBirthDate(LocalDate.of(1990, 1, 1));
+        clienteDTO.setPhone("(11) 99999-9999");
+
+        List<EnderecoDTO> lista = new ArrayList<>();
+        for (int i = 0; i < enderecos; i++) {
+            EnderecoDTO enderecoDTO = novoEnderecoDTO();
+            enderecoDTO.setNumber(String.valueOf(i));
+            lista.add(enderecoDTO);
+        }
+        clienteDTO.setEnderecos(lista);
+        return clienteDTO;
+    }
+
+    // Entidade com os dados de novoClienteDTO() e a quantidade de endereços informada, pronta para salvar
+    public static Cliente novoCliente(int enderecos) {
+        ClienteDTO clienteDTO = novoClienteDTO();
+        Cliente cliente = new Cliente();
+        cliente.setName(clienteDTO.getName());
+        cliente.setEmail(clienteDTO.getEmail());
+        cliente.setCpf(clienteDTO.getCpf());
+        cliente.setBirthDate(clienteDTO.getBirthDate());
+        cliente.setPhone(clienteDTO.getPhone());
+
+        List<Endereco> lista = new ArrayList<>();
+        for (int i = 0; i < enderecos; i++) {
+            Endereco endereco = novoEndereco();
+            endereco.setNumber(String.valueOf(i));
+            endereco.setCliente(cliente);
+            lista.add(endereco);
+        }
+        cliente.setEnderecos(lista);
+        return cliente;
+    }
+
+    // Endereço válido (CEP de São Paulo, coerente com a UF)
+    public static EnderecoDTO novoEnderecoDTO() {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setStreet("Rua Teste");
+        enderecoDTO.setNumber("10");
+        enderecoDTO.setNeighborhood("Centro");
+        enderecoDTO.setCity("São Paulo");
+        enderecoDTO.setState("SP");
+        enderecoDTO.setZipCode("01001-000");
+        return enderecoDTO;
+    }
+
+    public static Endereco novoEndereco() {
+        EnderecoDTO enderecoDTO = novoEnderecoDTO();
+        Endereco endereco = new Endereco();
+        endereco.setStreet(enderecoDTO.getStreet());
+        endereco.setNumber(enderecoDTO.getNumber());
+        endereco.setNeighborhood(enderecoDTO.getNeighborhood());
+        endereco.setCity(enderecoDTO.getCity());
+        endereco.setState(enderecoDTO.getState());
+        endereco.setZipCode(enderecoDTO.getZipCode());
+        return endereco;
+    }
+
+    public static String asJsonString(Object obj) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Dados realistas compartilhados pelos benchmarks JMH: um cliente com três endereços
+final class BenchmarkData {
+
+    static final int ENDERECOS_POR_CLIENTE = 3;
+
+    private BenchmarkData() {
+    }
+
+    static ClienteDTO clienteDTO() {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setId(4821L);
+        clienteDTO.setName("Maria Aparecida dos Santos");
+        clienteDTO.setEmail("maria.santos@example.com.br");
+        clienteDTO.setCpf("123.456.789-09");
+        clienteDTO.setBirthDate(LocalDate.of(1987, 3, 14));
+        clienteDTO.setPhone("(21) 98765-4321");
+
+        List<EnderecoDTO> enderecos = new ArrayList<>();
+        for (int i = 0; i < ENDERECOS_POR_CLIENTE; i++) {
+            enderecos.add(enderecoDTO(10_000L + i));
+        }
+        clienteDTO.setEnderecos(enderecos);
+        return clienteDTO;
+    }
+
+    static EnderecoDTO enderecoDTO(Long id) {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setId(id);
+        enderecoDTO.setStreet("Avenida Presidente Vargas");
+        enderecoDTO.setNumber("1" + id % 1000);
+        enderecoDTO.setNeighborhood("Centro");
+        enderecoDTO.setCity("Rio de Janeiro");
+        enderecoDTO.setState("RJ");
+        enderecoDTO.setZipCode("20071-001");
+        return enderecoDTO;
+    }
+
+    static Cliente cliente() {
+        ClienteDTO clienteDTO = clienteDTO();
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteDTO.getId());
+        cliente.setName(clienteDTO.getName());
+        cliente.setEmail(clienteDTO.getEmail());
+        cliente.setCpf(clienteDTO.getCpf());
+        cliente.setBirthDate(clienteDTO.getBirthDate());
+        cliente.setPhone(clienteDTO.getPhone());
+
+        List<Endereco> enderecos = new ArrayList<>();
+        for (EnderecoDTO enderecoDTO : clienteDTO.getEnderecos()) {
+            enderecos.add(endereco(enderecoDTO, cliente));
+        }
+        cliente.setEnderecos(enderecos);
+        return cliente;
+    }
+
+    static Endereco endereco(EnderecoDTO enderecoDTO, Cliente cliente) {
+        Endereco endereco = new Endereco();
+        endereco.setId(enderecoDTO.getId());
+        endereco.setStreet(enderecoDTO.getStreet());
+        endereco.setNumber(enderecoDTO.getNumber());
+        endereco.setNeighborhood(enderecoDTO.getNeighborhood());
+        endereco.setCity(enderecoDTO.getCity());
+        endereco.setState(enderecoDTO.getState());
+        endereco.setZipCode(enderecoDTO.getZipCode());
+        endereco.setCliente(cliente);
+        return endereco;
+    }
+}
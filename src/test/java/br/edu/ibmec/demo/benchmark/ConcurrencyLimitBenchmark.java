@@ -0,0 +1,136 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.configuration.AdaptiveConcurrencyLimit;
+import br.edu.ibmec.demo.configuration.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Sobrecarga contra um "banco" simulado com poucas conexões e tempo de serviço fixo: sem limite todas as requisições
+// entram na fila e a latência cresce com a concorrência; com o ConcurrencyLimitFilter o excedente recebe 503 imediato
+// e o p99 das requisições aceitas fica perto do tempo de serviço.
+// Executar com: mvn test -Pbenchmark -Dtest=ConcurrencyLimitBenchmark
+// O resultado é gravado em target/benchmarks/concurrency-limit.json
+@Tag("benchmark")
+public class ConcurrencyLimitBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 256);
+    private static final int CONEXOES = Integer.getInteger("benchmark.connections", 10);
+    private static final Duration TEMPO_SERVICO = Duration.ofMillis(Long.getLong("benchmark.service-time-ms", 20));
+    private static final Duration DURACAO = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 10));
+
+    @Test
+    public void compareWithAndWithoutLimiter() throws Exception {
+        Resultado semLimite = carga(null);
+        Resultado comLimite = carga(new ConcurrencyLimitFilter(
+                new AdaptiveConcurrencyLimit(50, 5, 200, Duration.ofMillis(250)),
+                new AdaptiveConcurrencyLimit(20, 2, 100, Duration.ofMillis(500)),
+                Duration.ofSeconds(1), List.of(), new SimpleMeterRegistry()));
+
+        String json = "{\n  \"unlimited\": " + semLimite.toJson() + ",\n  \"limited\": " + comLimite.toJson() + "\n}\n";
+        Path arquivo = Path.of("target", "benchmarks", "concurrency-limit.json");
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, json);
+        System.out.println(json);
+
+        assertTrue(comLimite.percentilMs(comLimite.aceitas, 0.99) < semLimite.percentilMs(semLimite.aceitas, 0.99),
+                "p99 com limite deveria ser menor que sem limite");
+    }
+
+    private Resultado carga(ConcurrencyLimitFilter filter) throws Exception {
+        Semaphore banco = new Semaphore(CONEXOES, true);
+        FilterChain backend = (request, response) -> {
+            banco.acquireUninterruptibly();
+            try {
+                Thread.sleep(TEMPO_SERVICO.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                banco.release();
+            }
+        };
+
+        ConcurrentLinkedQueue<Long> aceitas = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> rejeitadas = new ConcurrentLinkedQueue<>();
+        AtomicInteger erros = new AtomicInteger();
+        long fim = System.nanoTime() + DURACAO.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                tarefas.add(executor.submit(() -> {
+                    while (System.nanoTime() < fim) {
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        long t0 = System.nanoTime();
+                        try {
+                            if (filter == null) {
+                                backend.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), response);
+                            } else {
+                                filter.doFilter(new MockHttpServletRequest("GET", "/api/clientes"), response, backend);
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        long latencia = System.nanoTime() - t0;
+                        if (response.getStatus() == 503) {
+                            rejeitadas.add(latencia);
+                            // Cliente respeita o Retry-After de forma reduzida para manter a sobrecarga
+                            Thread.sleep(TEMPO_SERVICO.toMillis());
+                        } else {
+                            aceitas.add(latencia);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        assertTrue(erros.get() == 0, "Requisições com erro: " + erros.get());
+        return new Resultado(ordenar(aceitas), ordenar(rejeitadas));
+    }
+
+    private static long[] ordenar(Collection<Long> latencias) {
+        long[] ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ordenadas);
+        return ordenadas;
+    }
+
+    private record Resultado(long[] aceitas, long[] rejeitadas) {
+
+        double percentilMs(long[] latencias, double percentil) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(percentil * latencias.length) - 1;
+            return latencias[Math.max(indice, 0)] / 1_000_000.0;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"concurrency\": %d, \"connections\": %d, \"accepted\": %d, \"rejected\": %d, "
+                            + "\"acceptedThroughputPerSecond\": %.1f, \"p50Ms\": %.2f, \"p99Ms\": %.2f, "
+                            + "\"maxMs\": %.2f, \"rejectedP99Ms\": %.3f}",
+                    CONCURRENCY, CONEXOES, aceitas.length, rejeitadas.length,
+                    aceitas.length / (double) DURACAO.toSeconds(), percentilMs(aceitas, 0.50),
+                    percentilMs(aceitas, 0.99), percentilMs(aceitas, 1.0), percentilMs(rejeitadas, 0.99));
+        }
+    }
+}
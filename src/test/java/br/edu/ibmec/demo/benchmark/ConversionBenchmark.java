@@ -0,0 +1,62 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.service.ClienteService;
+import br.edu.ibmec.demo.service.EnderecoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Conversões entidade <-> DTO executadas em toda leitura e gravação
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    private ClienteService clienteService;
+    private EnderecoService enderecoService;
+
+    private Cliente cliente;
+    private ClienteDTO clienteDTO;
+    private Endereco endereco;
+    private EnderecoDTO enderecoDTO;
+
+    @Setup
+    public void setUp() {
+        enderecoService = new EnderecoService();
+        clienteService = new ClienteService();
+        ReflectionTestUtils.setField(clienteService, "enderecoService", enderecoService);
+
+        cliente = BenchmarkData.cliente();
+        clienteDTO = BenchmarkData.clienteDTO();
+        endereco = cliente.getEnderecos().get(0);
+        enderecoDTO = clienteDTO.getEnderecos().get(0);
+    }
+
+    @Benchmark
+    public ClienteDTO clienteToDTO() {
+        return clienteService.convertToDTO(cliente);
+    }
+
+    @Benchmark
+    public Cliente clienteToEntity() {
+        return clienteService.convertToEntity(clienteDTO);
+    }
+
+    @Benchmark
+    public EnderecoDTO enderecoToDTO() {
+        return enderecoService.convertToDTO(endereco);
+    }
+
+    @Benchmark
+    public Endereco enderecoToEntity() {
+        return enderecoService.convertToEntity(enderecoDTO);
+    }
+}
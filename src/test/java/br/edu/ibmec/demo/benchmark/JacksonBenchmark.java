@@ -0,0 +1,40 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.configuration.ObjectMapperConfig;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização JSON com o mesmo ObjectMapper configurado para a aplicação
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private ClienteDTO clienteDTO;
+    private byte[] clienteJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        clienteDTO = BenchmarkData.clienteDTO();
+        clienteJson = objectMapper.writeValueAsBytes(clienteDTO);
+    }
+
+    @Benchmark
+    public byte[] serializarCliente() throws Exception {
+        return objectMapper.writeValueAsBytes(clienteDTO);
+    }
+
+    @Benchmark
+    public ClienteDTO desserializarCliente() throws Exception {
+        return objectMapper.readValue(clienteJson, ClienteDTO.class);
+    }
+}
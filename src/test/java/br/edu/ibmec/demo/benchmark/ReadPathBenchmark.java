@@ -0,0 +1,132 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.CloudComputingAv1Application;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.repository.ClienteProjection;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoProjection;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.service.ClienteService;
+import br.edu.ibmec.demo.service.EnderecoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Leituras paginadas por projeção (20 clientes com 3 endereços cada): só as consultas de projeção contra a página
+// completa do serviço (consultas + montagem dos DTOs), e a mesma página montada a partir das entidades como
+// referência. Compare gc.alloc.rate.norm (bytes alocados por requisição).
+// Executar com: mvn -Pbenchmark test-compile exec:exec -Djmh.include=ReadPath
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int CLIENTES = 200;
+    private static final int PAGINA = 20;
+
+    private ConfigurableApplicationContext context;
+    private ClienteRepository clienteRepository;
+    private EnderecoRepository enderecoRepository;
+    private ClienteService clienteService;
+    private EnderecoService enderecoService;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CloudComputingAv1Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=false", "logging.level.root=WARN")
+                .run();
+        clienteRepository = context.getBean(ClienteRepository.class);
+        enderecoRepository = context.getBean(EnderecoRepository.class);
+        clienteService = context.getBean(ClienteService.class);
+        enderecoService = context.getBean(EnderecoService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Cliente cliente = BenchmarkData.cliente();
+            cliente.setId(null);
+            cliente.setEmail("bench" + i + "@example.com");
+            cliente.setCpf(String.format("%03d.000.000-00", i));
+            for (Endereco endereco : cliente.getEnderecos()) {
+                endereco.setId(null);
+            }
+            clientes.add(cliente);
+        }
+        clienteRepository.saveAll(clientes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Só as consultas: página de clientes e os endereços dela em uma segunda consulta, sem montar os DTOs
+    @Benchmark
+    public List<EnderecoProjection> clientesConsultas() {
+        return readOnly.execute(status -> {
+            List<Long> ids = clienteRepository.findProjectionsAfter(0L, Limit.of(PAGINA + 1)).stream()
+                    .limit(PAGINA)
+                    .map(ClienteProjection::id)
+                    .toList();
+            return enderecoRepository.findProjectionsByClienteIdIn(ids);
+        });
+    }
+
+    // Referência: a mesma página carregando as entidades Cliente e a coleção de endereços (em lote, @BatchSize),
+    // convertidas com o conversor do serviço. O cache de segundo nível fica de fora para medir a hidratação
+    @Benchmark
+    public List<ClienteDTO> clientesEntidades() {
+        return readOnly.execute(status -> {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            List<Cliente> clientes = entityManager
+                    .createQuery("select c from Cliente c where c.id > :after order by c.id", Cliente.class)
+                    .setParameter("after", 0L)
+                    .setMaxResults(PAGINA)
+                    .getResultList();
+            return clientes.stream()
+                    .map(clienteService::convertToDTO)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public CursorPageDTO<ClienteDTO> clientesPagina() {
+        return clienteService.getAllClientes(0L, PAGINA);
+    }
+
+    @Benchmark
+    public List<EnderecoProjection> enderecosConsulta() {
+        return readOnly.execute(status -> enderecoRepository.findProjectionsAfter(0L, Limit.of(PAGINA + 1)));
+    }
+
+    @Benchmark
+    public CursorPageDTO<EnderecoDTO> enderecosPagina() {
+        return enderecoService.getAllEnderecos(0L, PAGINA);
+    }
+}
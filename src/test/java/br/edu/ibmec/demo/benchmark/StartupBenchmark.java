@@ -0,0 +1,147 @@
+package br.edu.ibmec.demo.benchmark;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Tempo até a primeira requisição respondida (processo novo até o primeiro 200 em /api/clientes) para cada variante:
+// padrão (Flyway + ddl-auto=validate), sem análise do esquema (perfil fast-startup), + AOT do Spring e + arquivo AppCDS.
+// Requer o build do perfil aot: mvn -Paot package -DskipTests && mvn test -Pbenchmark -Dtest=StartupBenchmark
+// Por padrão usa um banco H2 em arquivo; para medir contra o MySQL informe -Dbenchmark.db-url, -Dbenchmark.db-username
+// e -Dbenchmark.db-password. O resultado (mediana de benchmark.runs execuções) é gravado em target/benchmarks/startup.json
+@Tag("benchmark")
+public class StartupBenchmark {
+
+    private static final int EXECUCOES = Integer.getInteger("benchmark.runs", 5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private static final Path CDS = Path.of("target", "cds").toAbsolutePath();
+    // Caminho relativo, como no treino do CDS (executado dentro de target/cds)
+    private static final String JAR = "demo-0.0.1-SNAPSHOT.jar";
+    private static final Path ARQUIVO_CDS = CDS.resolve("application.jsa");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    public void timeToFirstRequest() throws Exception {
+        Assumptions.assumeTrue(Files.exists(CDS.resolve(JAR)) && Files.exists(ARQUIVO_CDS),
+                "Execute antes: mvn -Paot package -DskipTests");
+
+        Map<String, List<String>> variantes = new LinkedHashMap<>();
+        // A primeira variante também cria o esquema usado pelas demais
+        variantes.put("default", List.of());
+        variantes.put("no-schema-analysis", List.of("--spring.profiles.active=fast-startup"));
+        variantes.put("aot", List.of("-Dspring.aot.enabled=true", "--spring.profiles.active=fast-startup"));
+        variantes.put("aot-cds", List.of("-XX:SharedArchiveFile=" + ARQUIVO_CDS, "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "--spring.profiles.active=fast-startup"));
+
+        StringBuilder json = new StringBuilder("{\n");
+        Iterator<Map.Entry<String, List<String>>> it = variantes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, List<String>> variante = it.next();
+            long[] tempos = new long[EXECUCOES];
+            for (int i = 0; i < EXECUCOES; i++) {
+                tempos[i] = medir(variante.getValue());
+            }
+            Arrays.sort(tempos);
+            json.append(String.format(Locale.ROOT, "  \"%s\": {\"runs\": %d, \"medianMs\": %d, \"minMs\": %d, \"maxMs\": %d}",
+                    variante.getKey(), EXECUCOES, tempos[EXECUCOES / 2], tempos[0], tempos[EXECUCOES - 1]));
+            json.append(it.hasNext() ? ",\n" : "\n");
+        }
+        json.append("}\n");
+
+        Path arquivo = Path.of("target", "benchmarks", "startup.json");
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, json);
+        System.out.println(json);
+    }
+
+    // Inicia a aplicação e espera o primeiro 200; retorna o tempo em milissegundos
+    private long medir(List<String> argumentos) throws Exception {
+        int porta;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            porta = socket.getLocalPort();
+        }
+
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        argumentos.stream().filter(argumento -> argumento.startsWith("-D") || argumento.startsWith("-X"))
+                .forEach(comando::add);
+        comando.add("-cp");
+        comando.add(classpath());
+        comando.add("br.edu.ibmec.demo.CloudComputingAv1Application");
+        argumentos.stream().filter(argumento -> argumento.startsWith("--")).forEach(comando::add);
+        comando.add("--server.port=" + porta);
+        comando.add("--logging.level.root=WARN");
+        comando.addAll(banco());
+
+        URI uri = URI.create("http://localhost:" + porta + "/api/clientes?limit=1");
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .directory(CDS.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "benchmarks", "startup.log").toAbsolutePath().toFile())
+                .start();
+        try {
+            long limite = inicio + TIMEOUT.toNanos();
+            while (System.nanoTime() < limite) {
+                if (!processo.isAlive()) {
+                    fail("A aplicação terminou durante a inicialização (ver target/benchmarks/startup.log)");
+                }
+                try {
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // Servidor ainda não está aceitando conexões
+                }
+                Thread.sleep(10);
+            }
+            fail("A aplicação não respondeu em " + TIMEOUT);
+            return -1;
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    // Jar extraído (mesmo classpath do treino do CDS) + driver H2 quando o banco padrão é usado
+    private static String classpath() throws Exception {
+        if (System.getProperty("benchmark.db-url") != null) {
+            return JAR;
+        }
+        String h2 = Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        return JAR + File.pathSeparator + h2;
+    }
+
+    private static List<String> banco() {
+        String dbUrl = System.getProperty("benchmark.db-url");
+        if (dbUrl != null) {
+            return List.of("--spring.datasource.url=" + dbUrl,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.db-username", ""),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.db-password", ""));
+        }
+        Path arquivo = Path.of("target", "benchmarks", "startup-db").toAbsolutePath();
+        return List.of("--spring.datasource.url=jdbc:h2:file:" + arquivo,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.validation.CepIndex;
+import br.edu.ibmec.demo.validation.EnderecoValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Validações executadas antes de cada gravação de cliente e endereço (EnderecoValidator com as faixas de CEP e idade
+// mínima). buscarCep deve ficar bem abaixo de 1 µs e com gc.alloc.rate.norm ≈ 0 (-prof gc)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private EnderecoValidator enderecoValidator;
+    private CepIndex cepIndex;
+
+    private EnderecoDTO enderecoValido;
+    private EnderecoDTO enderecoComCepInvalido;
+    private ClienteDTO clienteDTO;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                ValidationBenchmark.class.getResourceAsStream("/cep/faixas-cep.csv"), StandardCharsets.UTF_8)) {
+            cepIndex = CepIndex.criar(reader);
+        }
+        enderecoValidator = new EnderecoValidator(cepIndex);
+        enderecoValido = BenchmarkData.enderecoDTO(1L);
+        enderecoComCepInvalido = BenchmarkData.enderecoDTO(2L);
+        enderecoComCepInvalido.setZipCode("20071001");
+        clienteDTO = BenchmarkData.clienteDTO();
+    }
+
+    @Benchmark
+    public Map<String, String> validarEndereco() {
+        return enderecoValidator.validar(enderecoValido);
+    }
+
+    // Caminho de erro: inclui o custo de montar o mapa de erros
+    @Benchmark
+    public Map<String, String> validarEnderecoInvalido() {
+        return enderecoValidator.validar(enderecoComCepInvalido);
+    }
+
+    @Benchmark
+    public int buscarCep() {
+        return cepIndex.buscar(enderecoValido.getZipCode());
+    }
+
+    @Benchmark
+    public boolean isAgeValid() {
+        return clienteDTO.isAgeValid();
+    }
+}
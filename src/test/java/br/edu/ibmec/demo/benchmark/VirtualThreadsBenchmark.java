@@ -0,0 +1,191 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.CloudComputingAv1Application;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara vazão e latência p99 das leituras de clientes com thread por requisição e com virtual threads.
+// Executar com: mvn test -Pbenchmark -Dtest=VirtualThreadsBenchmark
+// Por padrão usa o H2 em memória; para medir contra o MySQL informe -Dbenchmark.db-url, -Dbenchmark.db-username
+// e -Dbenchmark.db-password. O resultado é gravado em target/benchmarks/virtual-threads.json
+@Tag("benchmark")
+public class VirtualThreadsBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20000);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("benchmark.warmup", 5000);
+    private static final int CLIENTES = 200;
+
+    @Test
+    public void compareThreadModels() throws Exception {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        resultados.put("platform", executar(false));
+        resultados.put("virtual", executar(true));
+
+        StringBuilder json = new StringBuilder("{\n");
+        Iterator<Map.Entry<String, Resultado>> it = resultados.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Resultado> entry = it.next();
+            json.append("  \"").append(entry.getKey()).append("\": ").append(entry.getValue().toJson());
+            json.append(it.hasNext() ? ",\n" : "\n");
+        }
+        json.append("}\n");
+
+        Path arquivo = Path.of("target", "benchmarks", "virtual-threads.json");
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, json);
+        System.out.println(json);
+    }
+
+    private Resultado executar(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = iniciar(virtualThreads)) {
+            List<Long> ids = popular(context.getBean(ClienteRepository.class));
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            carga(client, base, ids, WARMUP_REQUESTS);
+            return carga(client, base, ids, REQUESTS);
+        }
+    }
+
+    private ConfigurableApplicationContext iniciar(boolean virtualThreads) {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                // Compara os modelos de thread sem descarte de carga
+                "app.concurrency.enabled=false",
+                "logging.level.root=WARN"));
+        String dbUrl = System.getProperty("benchmark.db-url");
+        if (dbUrl != null) {
+            properties.add("spring.datasource.url=" + dbUrl);
+            properties.add("spring.datasource.username=" + System.getProperty("benchmark.db-username", ""));
+            properties.add("spring.datasource.password=" + System.getProperty("benchmark.db-password", ""));
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CloudComputingAv1Application.class)
+                .properties(properties.toArray(new String[0]));
+        if (dbUrl == null) {
+            builder.profiles("test");
+        }
+        return builder.run();
+    }
+
+    private List<Long> popular(ClienteRepository clienteRepository) {
+        String prefixo = UUID.randomUUID().toString().substring(0, 8);
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setName("Cliente Benchmark " + i);
+            cliente.setEmail("bench-" + prefixo + "-" + i + "@example.com");
+            cliente.setCpf(String.format("%03d.%03d.%03d-%02d", Math.abs(prefixo.hashCode()) % 1000, i, i, i % 100));
+            cliente.setBirthDate(LocalDate.of(1990, 1, 1));
+
+            Endereco endereco = new Endereco();
+            endereco.setStreet("Rua Benchmark");
+            endereco.setNumber(String.valueOf(i));
+            endereco.setNeighborhood("Centro");
+            endereco.setCity("São Paulo");
+            endereco.setState("SP");
+            endereco.setZipCode("01001-000");
+            endereco.setCliente(cliente);
+            cliente.setEnderecos(new ArrayList<>(List.of(endereco)));
+            clientes.add(cliente);
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (Cliente cliente : clienteRepository.saveAll(clientes)) {
+            ids.add(cliente.getId());
+        }
+        return ids;
+    }
+
+    // Dispara as requisições com CONCURRENCY clientes simultâneos, alternando listagem paginada e endereços do cliente
+    private Resultado carga(HttpClient client, String base, List<Long> ids, int total) throws Exception {
+        long[] latencias = new long[total];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                tarefas.add(executor.submit(() -> {
+                    int n;
+                    while ((n = proxima.getAndIncrement()) < total) {
+                        Long id = ids.get(n % ids.size());
+                        String url = n % 2 == 0
+                                ? base + "/api/clientes?after=" + (id - 1) + "&limit=20"
+                                : base + "/api/clientes/" + id + "/enderecos";
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[n] = System.nanoTime() - t0;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        assertEquals(0, erros.get(), "Requisições com erro");
+        Arrays.sort(latencias);
+        return new Resultado(total, duracao, latencias);
+    }
+
+    private record Resultado(int requisicoes, long duracaoNanos, long[] latenciasOrdenadas) {
+
+        double vazao() {
+            return requisicoes / (duracaoNanos / 1_000_000_000.0);
+        }
+
+        double percentilMs(double percentil) {
+            int indice = (int) Math.ceil(percentil * latenciasOrdenadas.length) - 1;
+            return latenciasOrdenadas[Math.max(indice, 0)] / 1_000_000.0;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"concurrency\": %d, \"requests\": %d, \"throughputPerSecond\": %.1f, "
+                            + "\"p50Ms\": %.2f, \"p99Ms\": %.2f, \"maxMs\": %.2f}",
+                    CONCURRENCY, requisicoes, vazao(), percentilMs(0.50), percentilMs(0.99), percentilMs(1.0));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.ibmec.demo.benchmark;
+
+import br.edu.ibmec.demo.configuration.ObjectMapperConfig;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Listas de clientes (3 endereços cada) em JSON, Smile e CBOR, com os mesmos mappers dos conversores HTTP.
+// O tamanho de cada payload é impresso no setup; compare também gc.alloc.rate.norm com -prof gc.
+// Executar com: mvn -Pbenchmark test-compile exec:exec -Djmh.include=WireFormat
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String formato;
+
+    @Param({"20", "500"})
+    private int clientes;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    private List<ClienteDTO> lista;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = new ObjectMapperConfig().objectMapper();
+        ObjectMapper mapper = switch (formato) {
+            case "smile" -> json.copyWith(new SmileFactory());
+            case "cbor" -> json.copyWith(new CBORFactory());
+            default -> json;
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, ClienteDTO.class));
+        reader = mapper.readerForListOf(ClienteDTO.class);
+
+        lista = new ArrayList<>(clientes);
+        Instant agora = Instant.now();
+        for (int i = 0; i < clientes; i++) {
+            ClienteDTO clienteDTO = BenchmarkData.clienteDTO();
+            clienteDTO.setId(4821L + i);
+            clienteDTO.setVersion((long) i % 7);
+            clienteDTO.setCreatedAt(agora.minusSeconds(86_400L + i));
+            clienteDTO.setUpdatedAt(agora.minusSeconds(i));
+            lista.add(clienteDTO);
+        }
+        payload = writer.writeValueAsBytes(lista);
+        System.out.printf("%n%s, %d clientes: %d bytes (%.1f por cliente)%n",
+                formato, clientes, payload.length, (double) payload.length / clientes);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws Exception {
+        return writer.writeValueAsBytes(lista);
+    }
+
+    @Benchmark
+    public List<ClienteDTO> desserializarLista() throws Exception {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,162 @@
+package br.edu.ibmec.demo.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    private MeterRegistry registry;
+    private AdaptiveConcurrencyLimit leitura;
+    private AdaptiveConcurrencyLimit escrita;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        leitura = new AdaptiveConcurrencyLimit(2, 1, 10, Duration.ofMillis(100));
+        escrita = new AdaptiveConcurrencyLimit(1, 1, 10, Duration.ofMillis(100));
+        filter = new ConcurrencyLimitFilter(leitura, escrita, Duration.ofSeconds(2),
+                List.of("/api/clientes/batch"), registry);
+    }
+
+    @Test
+    public void testRejectsAboveLimitWithRetryAfter() throws Exception {
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain bloqueante = (request, response) -> {
+            emAndamento.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> escritaLenta = executor.submit(() -> {
+                filter.doFilter(request("POST", "/api/clientes"), new MockHttpServletResponse(), bloqueante);
+                return null;
+            });
+            assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+
+            // Limite de escrita esgotado: 503 imediato sem chegar ao controller
+            MockHttpServletResponse rejeitada = new MockHttpServletResponse();
+            filter.doFilter(request("PUT", "/api/clientes/1"), rejeitada, (request, response) -> fail());
+            assertEquals(503, rejeitada.getStatus());
+            assertEquals("2", rejeitada.getHeader(HttpHeaders.RETRY_AFTER));
+            assertEquals(ConcurrencyLimitFilter.MENSAGEM, rejeitada.getContentAsString());
+            assertEquals(1.0, registry.get("app.concurrency.rejected").tag("type", "write").counter().count());
+            assertEquals(1.0, registry.get("app.concurrency.inflight").tag("type", "write").gauge().value());
+
+            // Leituras têm limite próprio
+            MockHttpServletResponse leituraAceita = new MockHttpServletResponse();
+            filter.doFilter(request("GET", "/api/clientes/1"), leituraAceita, (request, response) -> { });
+            assertEquals(200, leituraAceita.getStatus());
+
+            liberar.countDown();
+            escritaLenta.get(5, TimeUnit.SECONDS);
+        } finally {
+            liberar.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(0, escrita.getEmAndamento());
+    }
+
+    @Test
+    public void testExcludedPathsAreNotLimited() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/clientes/batch"), response, (req, res) -> {
+            assertEquals(0, escrita.getEmAndamento());
+        });
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    public void testLimitAdaptsToLatency() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(10, 2, 20, Duration.ofMillis(100));
+
+        // Respostas rápidas com o limite em uso: aumento aditivo
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limite.tentarAdquirir());
+        }
+        limite.liberar(TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertEquals(11, limite.getLimite());
+
+        // Respostas lentas ou com erro: redução multiplicativa
+        limite.liberar(TimeUnit.MILLISECONDS.toNanos(500), false);
+        assertEquals(9, limite.getLimite());
+        for (int i = 0; i < 8; i++) {
+            limite.liberar(0, true);
+        }
+        assertEquals(4, limite.getLimite());
+        assertEquals(0, limite.getEmAndamento());
+
+        // Pouca demanda não aumenta o limite
+        assertTrue(limite.tentarAdquirir());
+        limite.liberar(0, false);
+        assertEquals(4, limite.getLimite());
+
+        // Nunca abaixo do mínimo
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limite.tentarAdquirir());
+            limite.liberar(0, true);
+        }
+        assertEquals(2, limite.getLimite());
+        assertTrue(limite.tentarAdquirir());
+        assertTrue(limite.tentarAdquirir());
+        assertFalse(limite.tentarAdquirir());
+    }
+
+    @Test
+    public void testSlowBurstDecreasesOncePerWindow() {
+        long[] relogio = {TimeUnit.SECONDS.toNanos(10)};
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(20, 2, 40, Duration.ofMillis(100),
+                () -> relogio[0]);
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limite.tentarAdquirir());
+        }
+
+        // Rajada de respostas lentas de requisições que começaram juntas: uma única redução (20 -> 18)
+        for (int i = 0; i < 10; i++) {
+            relogio[0] += TimeUnit.MILLISECONDS.toNanos(5);
+            limite.liberar(TimeUnit.MILLISECONDS.toNanos(400), false);
+        }
+        assertEquals(18, limite.getLimite());
+        limite.liberar(TimeUnit.MILLISECONDS.toNanos(400), true);
+        assertEquals(18, limite.getLimite());
+
+        // Requisição iniciada depois da redução e ainda lenta: nova redução
+        relogio[0] += TimeUnit.MILLISECONDS.toNanos(500);
+        limite.liberar(TimeUnit.MILLISECONDS.toNanos(300), false);
+        assertEquals(16, limite.getLimite());
+    }
+
+    @Test
+    public void testServerErrorsCountAsFailures() throws Exception {
+        filter.doFilter(request("GET", "/api/clientes"), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(500));
+        assertEquals(1, leitura.getLimite());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
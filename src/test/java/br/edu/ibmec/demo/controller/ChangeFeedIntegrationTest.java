@@ -0,0 +1,179 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.service.ClienteService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem atraso de commit: as alterações entram no feed assim que gravadas
+@SpringBootTest(properties = "app.changes.commit-lag=0s")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void testUpsertsAndDeletesSinceCursor() throws Exception {
+        String cursor = fimDoFeed();
+        JsonNode cliente = novoCliente(1);
+        long clienteId = cliente.get("id").asLong();
+        long enderecoId = cliente.get("enderecos").get(0).get("id").asLong();
+
+        ClienteDTO alteracao = objectMapper.treeToValue(cliente, ClienteDTO.class);
+        alteracao.setName("Cliente Alterado");
+        mockMvc.perform(put("/api/clientes/" + clienteId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/enderecos/" + enderecoId))
+                .andExpect(status().isNoContent());
+
+        // Só o estado atual do cliente e a remoção do endereço (o endereço removido não aparece como UPSERT)
+        List<JsonNode> alteracoes = alteracoesDesde(cursor, 100);
+        assertEquals(2, alteracoes.size());
+        assertEquals("CLIENTE", alteracoes.get(0).get("type").asText());
+        assertEquals("UPSERT", alteracoes.get(0).get("operation").asText());
+        assertEquals(clienteId, alteracoes.get(0).get("id").asLong());
+        assertEquals("Cliente Alterado", alteracoes.get(0).get("cliente").get("name").asText());
+        assertEquals(1, alteracoes.get(0).get("cliente").get("version").asLong());
+        assertEquals("ENDERECO", alteracoes.get(1).get("type").asText());
+        assertEquals("DELETE", alteracoes.get(1).get("operation").asText());
+        assertEquals(enderecoId, alteracoes.get(1).get("id").asLong());
+        assertEquals(clienteId, alteracoes.get(1).get("clienteId").asLong());
+
+        // Retomar do último cursor não devolve nada, e o cursor recebido é mantido
+        String ultimo = alteracoes.get(1).get("cursor").asText();
+        mockMvc.perform(get("/api/changes").param("since", ultimo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(ultimo));
+    }
+
+    @Test
+    public void testPagesAcrossChangesWithSameTimestamp() throws Exception {
+        JsonNode origem = novoCliente(5);
+        long destinoId = novoCliente(0).get("id").asLong();
+        List<Long> ids = new ArrayList<>();
+        origem.get("enderecos").forEach(endereco -> ids.add(endereco.get("id").asLong()));
+        String cursor = fimDoFeed();
+
+        // O UPDATE em massa grava o mesmo updatedAt nos cinco endereços: o desempate é pelo ID
+        mockMvc.perform(post("/api/clientes/" + destinoId + "/enderecos/attach")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(ids)))
+                .andExpect(status().isOk());
+
+        List<JsonNode> alteracoes = alteracoesDesde(cursor, 2);
+        assertEquals(5, alteracoes.size());
+        Set<String> instantes = new HashSet<>();
+        List<Long> recebidos = new ArrayList<>();
+        for (JsonNode alteracao : alteracoes) {
+            assertEquals("ENDERECO", alteracao.get("type").asText());
+            assertEquals(destinoId, alteracao.get("clienteId").asLong());
+            instantes.add(alteracao.get("changedAt").asText());
+            recebidos.add(alteracao.get("id").asLong());
+        }
+        assertEquals(1, instantes.size());
+        assertEquals(ids, recebidos);
+    }
+
+    @Test
+    public void testTombstonesForRemovedAssociationAndDeletedCliente() throws Exception {
+        JsonNode cliente = novoCliente(2);
+        long clienteId = cliente.get("id").asLong();
+        long removido = cliente.get("enderecos").get(0).get("id").asLong();
+        long mantido = cliente.get("enderecos").get(1).get("id").asLong();
+        String cursor = fimDoFeed();
+
+        mockMvc.perform(delete("/api/clientes/" + clienteId + "/enderecos/" + removido))
+                .andExpect(status().isNoContent());
+        clienteService.deleteCliente(clienteId);
+
+        Set<String> alteracoes = new HashSet<>();
+        for (JsonNode alteracao : alteracoesDesde(cursor, 100)) {
+            alteracoes.add(alteracao.get("type").asText() + " " + alteracao.get("operation").asText() + " "
+                    + alteracao.get("id").asLong() + " " + alteracao.path("clienteId").asText("-"));
+        }
+        assertEquals(Set.of(
+                // O endereço desassociado continua existindo, agora sem cliente
+                "ENDERECO UPSERT " + removido + " -",
+                "CLIENTE_ENDERECO DELETE " + removido + " " + clienteId,
+                // Endereço removido em cascata com o cliente
+                "ENDERECO DELETE " + mantido + " " + clienteId,
+                "CLIENTE DELETE " + clienteId + " -"), alteracoes);
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        mockMvc.perform(get("/api/changes").param("since", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido: abc"));
+        mockMvc.perform(get("/api/changes").param("since", "1-9-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Percorre o feed a partir do cursor até não haver mais alterações
+    private List<JsonNode> alteracoesDesde(String cursor, int limit) throws Exception {
+        List<JsonNode> alteracoes = new ArrayList<>();
+        JsonNode pagina;
+        do {
+            var request = get("/api/changes").param("limit", String.valueOf(limit));
+            if (cursor != null) {
+                request.param("since", cursor);
+            }
+            pagina = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            assertTrue(pagina.get("items").size() <= limit);
+            pagina.get("items").forEach(alteracoes::add);
+            cursor = pagina.get("nextCursor").asText(null);
+        } while (pagina.get("hasMore").asBoolean());
+        return alteracoes;
+    }
+
+    private String fimDoFeed() throws Exception {
+        List<JsonNode> alteracoes = alteracoesDesde(null, 500);
+        return alteracoes.isEmpty() ? null : alteracoes.get(alteracoes.size() - 1).get("cursor").asText();
+    }
+
+    private JsonNode novoCliente(int enderecos) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoClienteDTO(enderecos))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,115 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ClienteBatchIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    public void testAddClientesBatch_PerRowErrors() throws Exception {
+        ClienteDTO existente = novoClienteDTO(1);
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(existente)))
+                .andExpect(status().isCreated());
+
+        ClienteDTO valido1 = novoClienteDTO(1);
+        ClienteDTO emailInvalido = novoClienteDTO(1);
+        emailInvalido.setEmail("invalid-email");
+        ClienteDTO emailEmUso = novoClienteDTO(1);
+        emailEmUso.setEmail(existente.getEmail());
+        ClienteDTO valido2 = novoClienteDTO(1);
+        ClienteDTO cpfRepetido = novoClienteDTO(1);
+        cpfRepetido.setCpf(valido2.getCpf());
+        ClienteDTO menorDeIdade = novoClienteDTO(1);
+        menorDeIdade.setBirthDate(LocalDate.now().minusYears(17));
+
+        List<ClienteDTO> lote = List.of(valido1, emailInvalido, emailEmUso, valido2, cpfRepetido, menorDeIdade);
+
+        mockMvc.perform(post("/api/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").isNumber())
+                .andExpect(jsonPath("$.results[1].errors.email").value("Email deve ser válido (ex.: usuario@dominio.com)"))
+                .andExpect(jsonPath("$.results[2].errors.email").value("O email fornecido já está em uso."))
+                .andExpect(jsonPath("$.results[3].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[4].errors.cpf").value("O CPF fornecido está repetido no lote."))
+                .andExpect(jsonPath("$.results[5].errors.birthDate").value("O cliente deve ter pelo menos 18 anos."));
+    }
+
+    @Test
+    public void testAddClientesBatch_InsertsAreBatched() throws Exception {
+        List<ClienteDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            lote.add(novoClienteDTO(1));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(lote)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(120));
+
+        // 120 clientes + 120 endereços gravados com poucos comandos preparados (lotes JDBC de 50)
+        assertEquals(240, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < 30,
+                "Comandos preparados: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testAddClientesBatch_EmptyList() throws Exception {
+        mockMvc.perform(post("/api/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A lista de clientes está vazia."));
+    }
+}
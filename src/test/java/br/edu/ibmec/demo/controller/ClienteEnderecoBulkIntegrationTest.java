@@ -0,0 +1,142 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoCliente;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ClienteEnderecoBulkIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    public void testAttachEnderecos_SingleUpdate() throws Exception {
+        Cliente origem = clienteRepository.save(novoCliente(30));
+        Cliente destino = clienteRepository.save(novoCliente(1));
+        List<Long> ids = idsDosEnderecos(origem);
+
+        // Os endereços em cache precisam ser invalidados pelo UPDATE em massa
+        mockMvc.perform(get("/api/clientes/" + origem.getId() + "/enderecos"))
+                .andExpect(jsonPath("$.length()").value(30));
+
+        List<Long> pedido = new ArrayList<>(ids);
+        pedido.add(idsDosEnderecos(destino).get(0));
+        pedido.add(Long.MAX_VALUE);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/clientes/" + destino.getId() + "/enderecos/attach")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(pedido)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(32))
+                .andExpect(jsonPath("$.updated").value(30))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$.results[30].status").value("UNCHANGED"))
+                .andExpect(jsonPath("$.results[31].status").value("NOT_FOUND"));
+
+        // Cliente + donos dos endereços + UPDATE, em vez de ~90 comandos
+        assertTrue(statistics.getPrepareStatementCount() <= 3,
+                "Comandos preparados: " + statistics.getPrepareStatementCount());
+
+        mockMvc.perform(get("/api/clientes/" + origem.getId() + "/enderecos"))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/clientes/" + destino.getId() + "/enderecos"))
+                .andExpect(jsonPath("$.length()").value(31));
+        mockMvc.perform(get("/api/enderecos/" + ids.get(0)))
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    public void testDetachEnderecos_ValidatesOwnership() throws Exception {
+        Cliente cliente = clienteRepository.save(novoCliente(3));
+        Cliente outro = clienteRepository.save(novoCliente(1));
+        List<Long> ids = idsDosEnderecos(cliente);
+        Long enderecoDeOutro = idsDosEnderecos(outro).get(0);
+
+        List<Long> pedido = List.of(ids.get(0), ids.get(1), enderecoDeOutro, ids.get(0));
+
+        mockMvc.perform(post("/api/clientes/" + cliente.getId() + "/enderecos/detach")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(pedido)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.results[2].id").value(enderecoDeOutro))
+                .andExpect(jsonPath("$.results[2].status").value("NOT_ASSOCIATED"));
+
+        mockMvc.perform(get("/api/clientes/" + cliente.getId() + "/enderecos"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ids.get(2)));
+        mockMvc.perform(get("/api/clientes/" + outro.getId() + "/enderecos"))
+                .andExpect(jsonPath("$.length()").value(1));
+        assertEquals(null, enderecoRepository.findById(ids.get(0)).orElseThrow().getCliente());
+    }
+
+    @Test
+    public void testBulkEnderecos_InvalidRequests() throws Exception {
+        Cliente cliente = clienteRepository.save(novoCliente(0));
+
+        mockMvc.perform(post("/api/clientes/" + cliente.getId() + "/enderecos/attach")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A lista de endereços está vazia."));
+
+        mockMvc.perform(post("/api/clientes/999999/enderecos/detach")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<Long> idsDosEnderecos(Cliente cliente) {
+        return cliente.getEnderecos().stream().map(Endereco::getId).toList();
+    }
+}
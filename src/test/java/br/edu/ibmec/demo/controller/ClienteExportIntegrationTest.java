@@ -0,0 +1,121 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.novoCliente;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ClienteExportIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    private final List<Long> clienteIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        // 250 clientes com um endereço cada: a exportação percorre 3 blocos
+        for (int i = 0; i < 250; i++) {
+            Cliente cliente = novoCliente(1);
+            cliente.getEnderecos().get(0).setNumber(String.valueOf(i));
+            clienteIds.add(clienteRepository.save(cliente).getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enderecoRepository.deleteAll();
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    public void testExportClientes_WritesOneJsonPerLine() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // O contexto é compartilhado com outros testes: começa antes do primeiro cliente criado aqui
+        List<JsonNode> linhas = export("/api/clientes/export?after=" + (clienteIds.get(0) - 1));
+
+        assertEquals(250, linhas.size());
+        assertEquals(clienteIds.get(0), linhas.get(0).get("id").asLong());
+        assertEquals(String.valueOf(249), linhas.get(249).get("enderecos").get(0).get("number").asText());
+
+        // 1 consulta com cursor + 1 carga de endereços por bloco de 100 clientes
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testExportClientes_ResumesAfterId() throws Exception {
+        List<JsonNode> linhas = export("/api/clientes/export?after=" + clienteIds.get(199));
+
+        assertEquals(50, linhas.size());
+        assertEquals(clienteIds.get(200), linhas.get(0).get("id").asLong());
+    }
+
+    private List<JsonNode> export(String url) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+
+        assertTrue(body.endsWith("\n"));
+        List<JsonNode> linhas = new ArrayList<>();
+        for (String linha : body.split("\n")) {
+            assertFalse(linha.isBlank());
+            linhas.add(objectMapper.readTree(linha));
+        }
+        return linhas;
+    }
+}
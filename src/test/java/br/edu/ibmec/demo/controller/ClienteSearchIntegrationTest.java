@@ -0,0 +1,210 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O inspector registra o SQL gerado pela busca para conferir o plano de execução de cada filtro
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "br.edu.ibmec.demo.controller.ClienteSearchIntegrationTest$SqlCapturado")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ClienteSearchIntegrationTest {
+
+    private static final String[][] CIDADES = {
+            {"São Paulo", "SP", "01001-000"}, {"Rio de Janeiro", "RJ", "20071-001"}, {"Belo Horizonte", "MG", "30130-010"}};
+
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class SqlCapturado implements StatementInspector {
+
+        static final List<String> COMANDOS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            COMANDOS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        // 30 clientes: nomes Ana/Bruno/Carla, cada um com um endereço em uma das três cidades
+        String[] nomes = {"Ana", "Bruno", "Carla"};
+        List<Cliente> clientes = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Cliente cliente = new Cliente();
+            cliente.setName(nomes[i % 3] + " Busca " + (i / 3));
+            cliente.setEmail("busca" + i + "@example.com");
+            cliente.setCpf(String.format("500.000.%03d-00", i));
+            cliente.setBirthDate(LocalDate.of(1990, 1, 1));
+
+            String[] cidade = CIDADES[(i / 3) % 3];
+            Endereco endereco = new Endereco();
+            endereco.setStreet("Rua Busca");
+            endereco.setNumber(String.valueOf(i));
+            endereco.setNeighborhood("Centro");
+            endereco.setCity(cidade[0]);
+            endereco.setState(cidade[1]);
+            endereco.setZipCode(cidade[2]);
+            endereco.setCliente(cliente);
+            cliente.setEnderecos(new ArrayList<>(List.of(endereco)));
+            clientes.add(cliente);
+        }
+        clienteRepository.saveAll(clientes);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        clienteRepository.deleteAll();
+        enderecoRepository.deleteAll();
+    }
+
+    @Test
+    public void testSearch_Filters() throws Exception {
+        mockMvc.perform(get("/api/clientes/search?name=Ana&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(10))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        mockMvc.perform(get("/api/clientes/search?email=busca7@example.com"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].cpf").value("500.000.007-00"));
+
+        mockMvc.perform(get("/api/clientes/search?cpf=500.000.008-00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value("busca8@example.com"));
+
+        mockMvc.perform(get("/api/clientes/search?city=Rio de Janeiro&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(9));
+
+        mockMvc.perform(get("/api/clientes/search?state=mg&name=Bruno&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3));
+
+        mockMvc.perform(get("/api/clientes/search?zipCode=0100&limit=100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(12));
+    }
+
+    @Test
+    public void testSearch_SortByNameWithKeysetPaging() throws Exception {
+        List<String> nomes = new ArrayList<>();
+        String after = null;
+        do {
+            JsonNode pagina = buscar("/api/clientes/search?name=Carla&sort=-name&limit=4"
+                    + (after != null ? "&after=" + after : ""));
+            pagina.get("items").forEach(item -> nomes.add(item.get("name").asText()));
+            after = pagina.hasNonNull("nextCursor") ? pagina.get("nextCursor").asText() : null;
+        } while (after != null);
+
+        List<String> esperado = new ArrayList<>(nomes);
+        esperado.sort(Collections.reverseOrder());
+        assertEquals(10, nomes.size());
+        assertEquals(esperado, nomes);
+    }
+
+    @Test
+    public void testSearch_InvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/clientes/search?sort=email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Ordenação inválida: use id, -id, name ou -name."));
+
+        mockMvc.perform(get("/api/clientes/search?sort=name&after=MTA"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor inválido para a ordenação informada."));
+
+        mockMvc.perform(get("/api/clientes/search?zipCode=01a"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testSearch_QueryPlansUseIndexes() throws Exception {
+        assertPlanoUsaIndice("name=Ana", "IDX_CLIENTE_NAME");
+        assertPlanoUsaIndice("name=Ana&sort=name", "IDX_CLIENTE_NAME");
+        assertPlanoUsaIndice("email=busca1@example.com", "UK_CLIENTE_EMAIL");
+        assertPlanoUsaIndice("cpf=500.000.001-00", "UK_CLIENTE_CPF");
+        assertPlanoUsaIndice("city=Belo Horizonte", "IDX_ENDERECO_CITY");
+        assertPlanoUsaIndice("state=SP", "IDX_ENDERECO_STATE");
+        assertPlanoUsaIndice("zipCode=2007", "IDX_ENDERECO_ZIP_CODE");
+    }
+
+    // Executa a busca, pega o SELECT principal e confere o EXPLAIN do H2: índice esperado e nenhum tableScan
+    private void assertPlanoUsaIndice(String filtro, String indice) throws Exception {
+        SqlCapturado.COMANDOS.clear();
+        buscar("/api/clientes/search?" + filtro);
+
+        String sql = SqlCapturado.COMANDOS.stream()
+                .filter(comando -> comando.startsWith("select") && comando.contains(" from cliente "))
+                .findFirst()
+                .orElseThrow();
+        // Os valores não mudam a escolha do índice: parâmetros de LIKE recebem um prefixo, os demais "1"
+        String[] trechos = sql.split("\\?", -1);
+        Object[] parametros = new Object[trechos.length - 1];
+        for (int i = 0; i < parametros.length; i++) {
+            parametros[i] = trechos[i].stripTrailing().endsWith(" like") ? "1%" : "1";
+        }
+
+        String plano = jdbcTemplate.queryForList("EXPLAIN " + sql, parametros).stream()
+                .map(Map::values)
+                .map(Object::toString)
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(plano.toUpperCase().contains(indice), filtro + " -> " + plano);
+        assertFalse(plano.contains("tableScan"), filtro + " -> " + plano);
+    }
+
+    private JsonNode buscar(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,189 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static br.edu.ibmec.demo.TestFixtures.novoEnderecoDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ConditionalRequestIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    @Test
+    public void testGetCliente_IfNoneMatchReturns304WithoutBodyOrQueries() throws Exception {
+        Long clienteId = novoCliente();
+        String etag = getETag("/api/clientes/" + clienteId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult result = mockMvc.perform(get("/api/clientes/" + clienteId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andReturn();
+
+        // O DTO veio do cache: nenhuma consulta e nenhum corpo serializado
+        assertEquals("", result.getResponse().getContentAsString());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetCliente_ETagChangesWhenEnderecosChange() throws Exception {
+        Long clienteId = novoCliente();
+        String antes = getETag("/api/clientes/" + clienteId);
+
+        String response = mockMvc.perform(post("/api/enderecos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoEnderecoDTO())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long enderecoId = objectMapper.readTree(response).get("id").asLong();
+        mockMvc.perform(post("/api/clientes/" + clienteId + "/enderecos/" + enderecoId))
+                .andExpect(status().isNoContent());
+
+        // A versão do cliente não muda, mas a lista de endereços sim
+        mockMvc.perform(get("/api/clientes/" + clienteId)
+                        .header(HttpHeaders.IF_NONE_MATCH, antes))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enderecos.length()").value(1));
+        assertNotEquals(antes, getETag("/api/clientes/" + clienteId));
+    }
+
+    @Test
+    public void testUpdateCliente_IfMatch() throws Exception {
+        Long clienteId = novoCliente();
+        String etag = getETag("/api/clientes/" + clienteId);
+        JsonNode cliente = getJson("/api/clientes/" + clienteId);
+
+        ClienteDTO alteracao = objectMapper.treeToValue(cliente, ClienteDTO.class);
+        alteracao.setName("Primeira Alteracao");
+        String novaETag = mockMvc.perform(put("/api/clientes/" + clienteId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(cliente.get("version").asLong() + 1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, novaETag);
+
+        // Segunda gravação baseada na leitura antiga: atualização perdida evitada
+        alteracao.setName("Alteracao Perdida");
+        mockMvc.perform(put("/api/clientes/" + clienteId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Primeira Alteracao", getJson("/api/clientes/" + clienteId).get("name").asText());
+        assertEquals(novaETag, getETag("/api/clientes/" + clienteId));
+    }
+
+    @Test
+    public void testUpdateEndereco_IfMatch() throws Exception {
+        String response = mockMvc.perform(post("/api/enderecos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoEnderecoDTO())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long enderecoId = objectMapper.readTree(response).get("id").asLong();
+        String etag = getETag("/api/enderecos/" + enderecoId);
+
+        mockMvc.perform(get("/api/enderecos/" + enderecoId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        EnderecoDTO alteracao = novoEnderecoDTO();
+        alteracao.setStreet("Rua Nova");
+        mockMvc.perform(put("/api/enderecos/" + enderecoId)
+                        .header(HttpHeaders.IF_MATCH, "\"999\", " + etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        alteracao.setStreet("Rua Perdida");
+        mockMvc.perform(put("/api/enderecos/" + enderecoId)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("O endereço foi alterado desde a última leitura (If-Match)."));
+
+        // Sem If-Match a atualização continua incondicional
+        mockMvc.perform(put("/api/enderecos/" + enderecoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(alteracao)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.street").value("Rua Perdida"));
+    }
+
+    private String getETag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""), etag);
+        return etag;
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private Long novoCliente() throws Exception {
+        String response = mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoClienteDTO())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+}
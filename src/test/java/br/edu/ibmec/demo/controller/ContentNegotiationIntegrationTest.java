@@ -0,0 +1,118 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ContentNegotiationIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ObjectMapper smile = json.copyWith(new SmileFactory());
+    private final ObjectMapper cbor = json.copyWith(new CBORFactory());
+
+    @Test
+    public void testSmileRequestAndCborResponse() throws Exception {
+        // Corpo em Smile, resposta em CBOR: a validação (@Valid) e as datas funcionam como em JSON
+        ClienteDTO clienteDTO = novoClienteDTO(1);
+        MvcResult criado = mockMvc.perform(post("/api/clientes")
+                        .contentType(SMILE)
+                        .accept(CBOR)
+                        .content(smile.writeValueAsBytes(clienteDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+        JsonNode cliente = cbor.readTree(criado.getResponse().getContentAsByteArray());
+        assertEquals(clienteDTO.getName(), cliente.get("name").asText());
+        assertEquals("1990-01-01", cliente.get("birthDate").asText());
+        assertEquals("Rua Teste", cliente.get("enderecos").get(0).get("street").asText());
+
+        MvcResult lido = mockMvc.perform(get("/api/clientes/" + cliente.get("id").asLong()).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+        assertEquals(cliente.get("version").asLong(),
+                smile.readTree(lido.getResponse().getContentAsByteArray()).get("version").asLong());
+
+        // Erros de validação também seguem o Accept
+        ClienteDTO invalido = novoClienteDTO(1);
+        invalido.setCpf("123");
+        MvcResult erro = mockMvc.perform(post("/api/clientes")
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(cbor.writeValueAsBytes(invalido)))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+        assertTrue(cbor.readTree(erro.getResponse().getContentAsByteArray()).get("errors").has("cpf"));
+    }
+
+    @Test
+    public void testJsonStaysDefault() throws Exception {
+        mockMvc.perform(post("/api/enderecos")
+                        .contentType(SMILE)
+                        .content(smile.writeValueAsBytes(novoClienteDTO(1).getEnderecos().get(0))))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/clientes").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/enderecos/cep/01001-000").accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void testNegotiatedEntityResponsesVaryByAccept() throws Exception {
+        // A ETag é a mesma em qualquer formato: sem Vary um cache compartilhado serviria Smile a quem pediu JSON
+        MvcResult criado = mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json.writeValueAsBytes(novoClienteDTO(1))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        JsonNode cliente = json.readTree(criado.getResponse().getContentAsByteArray());
+        String[] urls = {
+                "/api/clientes/" + cliente.get("id").asLong(),
+                "/api/enderecos/" + cliente.get("enderecos").get(0).get("id").asLong()
+        };
+
+        for (String url : urls) {
+            MvcResult lido = mockMvc.perform(get(url).accept(SMILE))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                    .andReturn();
+            mockMvc.perform(get(url).accept(MediaType.APPLICATION_JSON)
+                            .header(HttpHeaders.IF_NONE_MATCH, lido.getResponse().getHeader(HttpHeaders.ETAG)))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        }
+    }
+}
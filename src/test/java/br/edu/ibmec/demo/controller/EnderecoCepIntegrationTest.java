@@ -0,0 +1,73 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoEnderecoDTO;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EnderecoCepIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testCreateEndereco_CepDeOutroEstado() throws Exception {
+        EnderecoDTO enderecoDTO = novoEnderecoDTO();
+        enderecoDTO.setCity("Cidade Test");
+        enderecoDTO.setZipCode("20071-001");
+
+        mockMvc.perform(post("/api/enderecos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(enderecoDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.zipCode").value("CEP pertence ao estado RJ"));
+    }
+
+    @Test
+    public void testBuscarCep() throws Exception {
+        mockMvc.perform(get("/api/enderecos/cep/20071001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400"))
+                .andExpect(jsonPath("$.cep").value("20071-001"))
+                .andExpect(jsonPath("$.state").value("RJ"))
+                .andExpect(jsonPath("$.city").value("Rio de Janeiro"));
+
+        mockMvc.perform(get("/api/enderecos/cep/13010-000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("SP"))
+                .andExpect(jsonPath("$.city").doesNotExist());
+
+        mockMvc.perform(get("/api/enderecos/cep/00100-000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("CEP 00100-000 não encontrado"));
+
+        mockMvc.perform(get("/api/enderecos/cep/abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBuscarCep_DigitosNaoAscii() throws Exception {
+        // Dígitos arábico-índicos e de largura total são dígitos para Character.isDigit, mas não formam um CEP
+        mockMvc.perform(get("/api/enderecos/cep/{cep}", "٢٠٠٧١٠٠١"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CEP deve seguir o padrão XXXXX-XXX"));
+        mockMvc.perform(get("/api/enderecos/cep/{cep}", "２００７１００１"))
+                .andExpect(status().isBadRequest());
+    }
+}
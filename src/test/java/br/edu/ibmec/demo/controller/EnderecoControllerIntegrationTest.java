@@ -143,7 +143,7 @@ public class EnderecoControllerIntegrationTest {
         enderecoDTO.setNeighborhood("Bairro Z");
         enderecoDTO.setCity("Cidade Y");
         enderecoDTO.setState("RJ");
-        enderecoDTO.setZipCode("87654-321");
+        enderecoDTO.setZipCode("28654-321");
 
         // Assume an address with ID 1 exists
         mockMvc.perform(put("/api/enderecos/" + enderecoId)
@@ -0,0 +1,76 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.configuration.MetricsConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MetricsIntegrationTest {
+
+    // MockMvc injetado já inclui o filtro que registra http.server.requests
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testEndpointLatencyHistograms() throws Exception {
+        mockMvc.perform(get("/api/clientes?limit=5")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/enderecos?limit=5")).andExpect(status().isOk());
+
+        for (String uri : new String[]{"/api/clientes", "/api/enderecos"}) {
+            Timer timer = meterRegistry.get("http.server.requests").tag("uri", uri).tag("method", "GET").timer();
+            assertTrue(timer.count() >= 1, uri);
+            // Histograma publicado para cálculo de percentis (p99) no Prometheus
+            assertTrue(timer.takeSnapshot().histogramCounts().length > 0, uri);
+        }
+    }
+
+    @Test
+    public void testServiceMethodTimers() throws Exception {
+        mockMvc.perform(get("/api/clientes?limit=5")).andExpect(status().isOk());
+
+        Timer timer = meterRegistry.get(MetricsConfig.SERVICE_TIMER)
+                .tag("class", "br.edu.ibmec.demo.service.ClienteService")
+                .tag("method", "getAllClientes")
+                .timer();
+        assertTrue(timer.count() >= 1);
+    }
+
+    @Test
+    public void testHibernateAndPoolMetrics() throws Exception {
+        mockMvc.perform(get("/api/clientes?limit=5")).andExpect(status().isOk());
+
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.entities.loads").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.collections.fetches").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+    }
+
+    @Test
+    public void testConcurrencyLimiterMetrics() throws Exception {
+        mockMvc.perform(get("/api/clientes?limit=5")).andExpect(status().isOk());
+
+        for (String tipo : new String[]{"read", "write"}) {
+            assertTrue(meterRegistry.get("app.concurrency.limit").tag("type", tipo).gauge().value() >= 1, tipo);
+            assertNotNull(meterRegistry.get("app.concurrency.inflight").tag("type", tipo).gauge());
+            assertNotNull(meterRegistry.get("app.concurrency.rejected").tag("type", tipo).counter());
+        }
+    }
+}
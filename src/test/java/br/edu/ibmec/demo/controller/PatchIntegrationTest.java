@@ -0,0 +1,190 @@
+package br.edu.ibmec.demo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O inspector registra o SQL gerado para conferir que o UPDATE leva só as colunas alteradas
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "br.edu.ibmec.demo.controller.PatchIntegrationTest$SqlCapturado")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class PatchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static class SqlCapturado implements StatementInspector {
+
+        static final List<String> COMANDOS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            COMANDOS.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        SqlCapturado.COMANDOS.clear();
+    }
+
+    @Test
+    public void testPatchClienteUpdatesOnlySentColumns() throws Exception {
+        JsonNode cliente = novoCliente();
+        long id = cliente.get("id").asLong();
+        SqlCapturado.COMANDOS.clear();
+
+        patchCliente(id, "{\"phone\": \"(21) 98888-7777\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("(21) 98888-7777"))
+                .andExpect(jsonPath("$.name").value(cliente.get("name").asText()))
+                .andExpect(jsonPath("$.version").value(1));
+
+        // Sem consulta de unicidade (email e CPF não mudaram) e UPDATE só do telefone
+        String update = unicoUpdate("cliente");
+        assertTrue(update.contains("phone"), update);
+        assertFalse(update.contains("name") || update.contains("email") || update.contains("cpf")
+                || update.contains("birth_date"), update);
+        assertTrue(SqlCapturado.COMANDOS.stream().noneMatch(sql -> sql.contains(".cpf=?")));
+
+        // null remove o valor; o mesmo valor de novo não gera UPDATE nem nova versão
+        patchCliente(id, "{\"phone\": null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").doesNotExist())
+                .andExpect(jsonPath("$.version").value(2));
+        SqlCapturado.COMANDOS.clear();
+        patchCliente(id, "{\"name\": \"" + cliente.get("name").asText() + "\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+        assertTrue(SqlCapturado.COMANDOS.stream().noneMatch(sql -> sql.startsWith("update")));
+    }
+
+    @Test
+    public void testPatchClienteValidatesOnlySentFields() throws Exception {
+        long id = novoCliente().get("id").asLong();
+        String outroEmail = novoCliente().get("email").asText();
+
+        patchCliente(id, "{\"phone\": \"123\", \"birthDate\": \"" + LocalDate.now().minusYears(10) + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.phone").value("Telefone deve seguir o padrão (XX) XXXXX-XXXX"))
+                .andExpect(jsonPath("$.errors.birthDate").value("O cliente deve ter pelo menos 18 anos."))
+                .andExpect(jsonPath("$.errors.name").doesNotExist());
+        patchCliente(id, "{\"name\": null}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.name").value("Nome é obrigatório"));
+        patchCliente(id, "{\"email\": \"" + outroEmail + "\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O email fornecido já está em uso por outro cliente."));
+        patchCliente(id, "{\"version\": 7, \"enderecos\": []}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Campos que não podem ser alterados por PATCH: enderecos, version"));
+        patchCliente(id, "{\"birthDate\": \"ontem\"}")
+                .andExpect(status().isBadRequest());
+        patchCliente(id, "[]")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O corpo do PATCH deve ser um objeto JSON."));
+    }
+
+    @Test
+    public void testPatchClienteIfMatch() throws Exception {
+        long id = novoCliente().get("id").asLong();
+        String etag = mockMvc.perform(get("/api/clientes/" + id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(patch("/api/clientes/" + id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .content("{\"phone\": \"(11) 97777-6666\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/clientes/" + id)
+                        .contentType(MergePatch.MEDIA_TYPE)
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .content("{\"phone\": \"(11) 97777-6666\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+    }
+
+    @Test
+    public void testPatchEndereco() throws Exception {
+        long id = novoCliente().get("enderecos").get(0).get("id").asLong();
+        SqlCapturado.COMANDOS.clear();
+
+        patchEndereco(id, "{\"number\": \"200\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.number").value("200"))
+                .andExpect(jsonPath("$.street").value("Rua Teste"))
+                .andExpect(jsonPath("$.version").value(1));
+        String update = unicoUpdate("endereco");
+        assertTrue(update.contains("number"), update);
+        assertFalse(update.contains("street") || update.contains("city") || update.contains("zip_code"), update);
+
+        // Estado incompatível com o CEP atual: o erro é reportado no CEP
+        patchEndereco(id, "{\"state\": \"RJ\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.zipCode").value("CEP pertence ao estado SP"));
+        patchEndereco(id, "{\"street\": \"R\"}")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.street").value("Rua deve ter entre 3 e 255 caracteres"))
+                .andExpect(jsonPath("$.errors.zipCode").doesNotExist());
+        patchEndereco(id, "{\"cliente\": 1}")
+                .andExpect(status().isBadRequest());
+        patchEndereco(999999, "{\"number\": \"1\"}")
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions patchCliente(long id, String corpo) throws Exception {
+        return mockMvc.perform(patch("/api/clientes/" + id)
+                .contentType(MergePatch.MEDIA_TYPE)
+                .content(corpo));
+    }
+
+    private ResultActions patchEndereco(long id, String corpo) throws Exception {
+        return mockMvc.perform(patch("/api/enderecos/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo));
+    }
+
+    private String unicoUpdate(String tabela) {
+        List<String> updates = SqlCapturado.COMANDOS.stream()
+                .filter(sql -> sql.startsWith("update " + tabela + " "))
+                .toList();
+        assertEquals(1, updates.size(), updates::toString);
+        return updates.get(0);
+    }
+
+    private JsonNode novoCliente() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoClienteDTO(1))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
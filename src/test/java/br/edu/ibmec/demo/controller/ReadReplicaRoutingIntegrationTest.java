@@ -0,0 +1,174 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.configuration.ReadYourWritesFilter;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Properties;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primário e réplica são dois bancos H2 distintos; a "replicação" é uma cópia explícita do primário para a réplica
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:cloudav1-replica-${random.uuid};DB_CLOSE_DELAY=-1",
+        "app.datasource.read-your-writes-window=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        replicar();
+    }
+
+    @Test
+    public void testReadsGoToReplicaAndWritesToPrimary() throws Exception {
+        Cookie ultimaEscrita = cadastrar(novoClienteDTO());
+        long clienteId = ultimoClienteId();
+
+        // Sem o cookie a leitura vai para a réplica, que ainda não recebeu o cliente
+        assertEquals(0, listarAPartirDe(clienteId, null).size());
+
+        // Com o cookie (dentro da janela) a leitura vai para o primário
+        assertEquals(1, listarAPartirDe(clienteId, ultimaEscrita).size());
+
+        replicar();
+        assertEquals(1, listarAPartirDe(clienteId, null).size());
+    }
+
+    @Test
+    public void testReadYourWritesWindowExpires() throws Exception {
+        cadastrar(novoClienteDTO());
+        long clienteId = ultimoClienteId();
+
+        Cookie antigo = new Cookie(ReadYourWritesFilter.COOKIE, String.valueOf(System.currentTimeMillis() - 10_000));
+        assertEquals(0, listarAPartirDe(clienteId, antigo).size());
+    }
+
+    @Test
+    public void testEachPoolReportsItsOwnMetrics() throws Exception {
+        double antes = meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica").timer().count();
+
+        listarAPartirDe(0, null);
+
+        assertTrue(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "replica").timer().count() > antes);
+        assertNotNull(meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica").gauge());
+    }
+
+    @Test
+    public void testReplicaPoolInheritsDriverProperties() {
+        // A exportação (somente leitura, na réplica) depende do cursor no servidor para não carregar tudo na memória
+        Properties propriedades = ((HikariDataSource) replicaDataSource).getDataSourceProperties();
+        assertEquals("true", propriedades.getProperty("useCursorFetch"));
+        assertEquals("true", propriedades.getProperty("rewriteBatchedStatements"));
+    }
+
+    @Test
+    public void testSharedCachesAreNotFilledFromReplica() throws Exception {
+        ClienteDTO clienteDTO = novoClienteDTO();
+        cadastrar(clienteDTO);
+        long clienteId = ultimoClienteId();
+        replicar();
+        String nome = clienteDTO.getName();
+
+        mockMvc.perform(get("/api/clientes/" + clienteId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(nome));
+
+        // A alteração ainda não chegou à réplica
+        mockMvc.perform(patch("/api/clientes/" + clienteId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"" + nome + " Alterado\"}"))
+                .andExpect(status().isOk());
+        entityManagerFactory.getCache().evictAll();
+
+        // A busca (sem o cookie) lê a linha antiga da réplica, mas não a deixa no cache de segundo nível
+        mockMvc.perform(get("/api/clientes/search?cpf=" + clienteDTO.getCpf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value(nome));
+
+        // A leitura por ID alimenta o cache de DTOs: vem do primário mesmo sem o cookie
+        mockMvc.perform(get("/api/clientes/" + clienteId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(nome + " Alterado"));
+    }
+
+    private List<JsonNode> listarAPartirDe(long clienteId, Cookie cookie) throws Exception {
+        var request = get("/api/clientes?after=" + (clienteId - 1) + "&limit=1");
+        if (cookie != null) {
+            request.cookie(cookie);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readerForListOf(JsonNode.class).readValue(objectMapper.readTree(body).get("items"));
+    }
+
+    // Cadastra o cliente (no primário) e devolve o cookie de leitura das próprias escritas
+    private Cookie cadastrar(ClienteDTO clienteDTO) throws Exception {
+        Cookie cookie = mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(clienteDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        return cookie;
+    }
+
+    private long ultimoClienteId() {
+        return new JdbcTemplate(primaryDataSource).queryForObject("SELECT MAX(id) FROM cliente", Long.class);
+    }
+
+    // Copia esquema e dados do primário para a réplica
+    private void replicar() {
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        script.forEach(replica::execute);
+    }
+}
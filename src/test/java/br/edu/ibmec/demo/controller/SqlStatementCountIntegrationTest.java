@@ -0,0 +1,122 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static br.edu.ibmec.demo.TestFixtures.novoCliente;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que os endpoints de leitura executam um número fixo de comandos SQL (sem N+1)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SqlStatementCountIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    private Long primeiroClienteId;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 30 clientes com 2 endereços cada
+        for (int i = 0; i < 30; i++) {
+            Cliente salvo = clienteRepository.save(novoCliente(2));
+            if (primeiroClienteId == null) {
+                primeiroClienteId = salvo.getId();
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enderecoRepository.deleteAll();
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    public void testGetAllClientes_StatementCountIndependentOfPageSize() throws Exception {
+        // Página pequena e página grande devem executar a mesma quantidade de comandos
+        long paginaPequena = countStatements("/api/clientes?limit=5", 5);
+        long paginaGrande = countStatements("/api/clientes?limit=30", 30);
+
+        // 1 SELECT para a página de clientes + 1 SELECT em lote para os endereços
+        assertEquals(2, paginaPequena);
+        assertEquals(paginaPequena, paginaGrande);
+    }
+
+    @Test
+    public void testGetAllEnderecos_SingleStatement() throws Exception {
+        assertEquals(1, countStatements("/api/enderecos?limit=60", 60));
+    }
+
+    @Test
+    public void testGetClienteById_SingleStatement() throws Exception {
+        // Caminho frio: cliente e endereços fora do cache de segundo nível
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/clientes/" + primeiroClienteId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enderecos.length()").value(2));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testGetEnderecosByClienteId_SingleStatement() throws Exception {
+        // Caminho frio: cliente e endereços fora do cache de segundo nível
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/clientes/" + primeiroClienteId + "/enderecos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Executa o GET e retorna quantos comandos SQL foram preparados durante a requisição
+    private long countStatements(String url, int expectedItems) throws Exception {
+        statistics.clear();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(expectedItems));
+
+        return statistics.getPrepareStatementCount();
+    }
+}
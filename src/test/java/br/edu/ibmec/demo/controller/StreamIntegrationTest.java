@@ -0,0 +1,238 @@
+package br.edu.ibmec.demo.controller;
+
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.Tombstone;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.asJsonString;
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testPushesCommittedMutations() throws Exception {
+        MvcResult stream = assinar(null);
+
+        long enderecoId = novoEndereco();
+        mockMvc.perform(delete("/api/enderecos/" + enderecoId))
+                .andExpect(status().isNoContent());
+
+        List<Evento> eventos = aguardarEventos(stream, enderecoId, 2);
+        assertEquals("change", eventos.get(0).nome());
+        assertEquals("ENDERECO", eventos.get(0).dados().get("type").asText());
+        assertEquals("UPSERT", eventos.get(0).dados().get("operation").asText());
+        assertEquals("Rua Stream", eventos.get(0).dados().get("endereco").get("street").asText());
+        assertEquals("DELETE", eventos.get(1).dados().get("operation").asText());
+        assertTrue(eventos.get(1).dados().hasNonNull("changedAt"));
+
+        // Alteração desfeita por rollback não chega ao stream
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new ChangeDTO(Tombstone.ENDERECO, ChangeDTO.UPSERT, -1L, null, Instant.now()));
+            status.setRollbackOnly();
+        });
+        long seguinte = novoEndereco();
+        aguardarEventos(stream, seguinte, 1);
+        assertTrue(eventos(stream).stream().noneMatch(evento -> evento.dados().path("id").asLong() == -1L));
+    }
+
+    @Test
+    public void testAttachEventCarriesStoredUpdatedAt() throws Exception {
+        long enderecoId = novoEndereco();
+        String cliente = mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(novoClienteDTO())))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long clienteId = objectMapper.readTree(cliente).get("id").asLong();
+
+        MvcResult stream = assinar(null);
+        mockMvc.perform(post("/api/clientes/" + clienteId + "/enderecos/" + enderecoId))
+                .andExpect(status().is2xxSuccessful());
+
+        // O instante do evento é o updatedAt gravado no endereço: o feed de alterações e o stream concordam
+        JsonNode evento = aguardarEventos(stream, enderecoId, 1).get(0).dados();
+        JsonNode endereco = objectMapper.readTree(mockMvc.perform(get("/api/enderecos/" + enderecoId))
+                .andReturn().getResponse().getContentAsString());
+        assertEquals(clienteId, evento.get("clienteId").asLong());
+        assertEquals(Instant.parse(endereco.get("updatedAt").asText()), Instant.parse(evento.get("changedAt").asText()));
+    }
+
+    @Test
+    public void testResumeWithLastEventId() throws Exception {
+        MvcResult primeiro = assinar(null);
+        long enderecoA = novoEndereco();
+        long enderecoB = novoEndereco();
+        String idA = aguardarEventos(primeiro, enderecoA, 1).get(0).id();
+        aguardarEventos(primeiro, enderecoB, 1);
+
+        // Reconexão depois de A: recebe B (do histórico) sem nova alteração
+        MvcResult retomado = assinar(idA);
+        List<Evento> reenviados = aguardarEventos(retomado, enderecoB, 1);
+        assertEquals("change", reenviados.get(0).nome());
+        assertTrue(eventos(retomado).stream().noneMatch(evento -> evento.dados().path("id").asLong() == enderecoA));
+
+        // ID de outra execução do servidor: não há como saber o que foi perdido
+        MvcResult outraExecucao = assinar("abc-1");
+        long limite = System.currentTimeMillis() + 5000;
+        while (eventos(outraExecucao).isEmpty() && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertEquals("reset", eventos(outraExecucao).get(0).nome());
+
+        mockMvc.perform(get("/api/stream").header("Last-Event-ID", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testPushesBatchInserts() throws Exception {
+        MvcResult stream = assinar(null);
+        ClienteDTO invalido = novoClienteDTO(1);
+        invalido.setCpf("123");
+        List<ClienteDTO> lote = List.of(novoClienteDTO(1), invalido, novoClienteDTO(2));
+
+        JsonNode resultado = objectMapper.readTree(mockMvc.perform(post("/api/clientes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(lote)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Cada cliente gravado chega ao stream com seus endereços; o registro rejeitado não gera evento
+        for (int i : new int[]{0, 2}) {
+            long clienteId = resultado.get("results").get(i).get("id").asLong();
+            int esperados = 1 + lote.get(i).getEnderecos().size();
+            List<Evento> doCliente = aguardarEventosDoCliente(stream, clienteId, esperados);
+            assertEquals(esperados, doCliente.size());
+            assertTrue(doCliente.stream().allMatch(evento -> "UPSERT".equals(evento.dados().get("operation").asText())));
+            assertEquals(lote.get(i).getName(), doCliente.get(0).dados().get("cliente").get("name").asText());
+        }
+        assertTrue(eventos(stream).stream().noneMatch(evento ->
+                invalido.getEmail().equals(evento.dados().path("cliente").path("email").asText())));
+    }
+
+    private MvcResult assinar(String lastEventId) throws Exception {
+        var requisicao = get("/api/stream").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            requisicao.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(requisicao)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private long novoEndereco() throws Exception {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setStreet("Rua Stream");
+        enderecoDTO.setNumber("1");
+        enderecoDTO.setNeighborhood("Centro");
+        enderecoDTO.setCity("São Paulo");
+        enderecoDTO.setState("SP");
+        enderecoDTO.setZipCode("01001-000");
+        String response = mockMvc.perform(post("/api/enderecos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(enderecoDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    // Eventos do endereço recebidos até agora, esperando até chegar a quantidade pedida
+    private List<Evento> aguardarEventos(MvcResult stream, long enderecoId, int quantidade) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        List<Evento> doEndereco;
+        do {
+            doEndereco = eventos(stream).stream()
+                    .filter(evento -> evento.dados().path("id").asLong() == enderecoId)
+                    .toList();
+            if (doEndereco.size() >= quantidade) {
+                return doEndereco;
+            }
+            Thread.sleep(20);
+        } while (System.currentTimeMillis() < limite);
+        fail("Eventos do endereço " + enderecoId + " não recebidos: " + stream.getResponse().getContentAsString());
+        return doEndereco;
+    }
+
+    // Eventos do cliente e dos seus endereços, na ordem de publicação (o do cliente vem primeiro)
+    private List<Evento> aguardarEventosDoCliente(MvcResult stream, long clienteId, int quantidade) throws Exception {
+        long limite = System.currentTimeMillis() + 5000;
+        List<Evento> doCliente;
+        do {
+            doCliente = eventos(stream).stream()
+                    .filter(evento -> evento.dados().path("clienteId").asLong() == clienteId
+                            || "CLIENTE".equals(evento.dados().path("type").asText())
+                            && evento.dados().path("id").asLong() == clienteId)
+                    .toList();
+            if (doCliente.size() >= quantidade) {
+                return doCliente;
+            }
+            Thread.sleep(20);
+        } while (System.currentTimeMillis() < limite);
+        fail("Eventos do cliente " + clienteId + " não recebidos: " + stream.getResponse().getContentAsString());
+        return doCliente;
+    }
+
+    // Eventos SSE (id, event, data) já escritos por inteiro na resposta
+    private List<Evento> eventos(MvcResult stream) throws Exception {
+        String conteudo = stream.getResponse().getContentAsString();
+        List<Evento> eventos = new ArrayList<>();
+        for (String bloco : conteudo.substring(0, conteudo.lastIndexOf("\n\n") + 1).split("\n\n")) {
+            String id = null;
+            String nome = null;
+            String dados = null;
+            for (String linha : bloco.split("\n")) {
+                if (linha.startsWith("id:")) {
+                    id = linha.substring(3);
+                } else if (linha.startsWith("event:")) {
+                    nome = linha.substring(6);
+                } else if (linha.startsWith("data:")) {
+                    dados = linha.substring(5);
+                }
+            }
+            if (dados != null) {
+                eventos.add(new Evento(id, nome, objectMapper.readTree(dados)));
+            }
+        }
+        return eventos;
+    }
+
+    private record Evento(String id, String nome, JsonNode dados) {
+    }
+}
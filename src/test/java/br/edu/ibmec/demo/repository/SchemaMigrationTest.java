@@ -0,0 +1,111 @@
+package br.edu.ibmec.demo.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Aplica as migrações de db/migration/h2 a bancos H2 novos e confere índices, restrições e colunas
+public class SchemaMigrationTest {
+
+    @Test
+    public void testMigrateEmptyDatabase() throws Exception {
+        DataSource dataSource = novoBanco();
+
+        MigrateResult result = flyway(dataSource).migrate();
+        assertEquals(3, result.migrationsExecuted);
+
+        Map<String, List<String>> indices = indices(dataSource, "ENDERECO");
+        assertEquals(List.of("CLIENTE_ID"), indices.get("IDX_ENDERECO_CLIENTE_ID"));
+        assertEquals(List.of("CITY", "CLIENTE_ID"), indices.get("IDX_ENDERECO_CITY"));
+        assertEquals(List.of("STATE", "CLIENTE_ID"), indices.get("IDX_ENDERECO_STATE"));
+        assertEquals(List.of("ZIP_CODE", "CLIENTE_ID"), indices.get("IDX_ENDERECO_ZIP_CODE"));
+        assertEquals(List.of("NAME", "ID"), indices(dataSource, "CLIENTE").get("IDX_CLIENTE_NAME"));
+        assertEquals(List.of("UPDATED_AT", "ID"), indices(dataSource, "CLIENTE").get("IDX_CLIENTE_UPDATED_AT"));
+        assertEquals(List.of("UPDATED_AT", "ID"), indices.get("IDX_ENDERECO_UPDATED_AT"));
+        assertEquals(List.of("DELETED_AT", "ID"), indices(dataSource, "TOMBSTONE").get("IDX_TOMBSTONE_DELETED_AT"));
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        assertEquals(List.of("UK_CLIENTE_CPF", "UK_CLIENTE_EMAIL"), jdbcTemplate.queryForList(
+                "SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS"
+                        + " WHERE TABLE_NAME = 'CLIENTE' AND CONSTRAINT_TYPE = 'UNIQUE' ORDER BY CONSTRAINT_NAME",
+                String.class));
+
+        // Colunas de versão com valor padrão para registros gravados sem ela
+        jdbcTemplate.update("INSERT INTO cliente (id, name, email, cpf) VALUES (1, 'Ana', 'ana@example.com', '1')");
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM cliente WHERE id = 1", Long.class));
+        assertNotNull(jdbcTemplate.queryForObject("SELECT updated_at FROM cliente WHERE id = 1", Object.class));
+        assertEquals(50L, jdbcTemplate.queryForObject(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'CLIENTE_SEQ'", Long.class));
+
+        // Segunda execução não tem nada a aplicar
+        assertEquals(0, flyway(dataSource).migrate().migrationsExecuted);
+    }
+
+    @Test
+    public void testBaselineExistingDatabase() throws Exception {
+        DataSource dataSource = novoBanco();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Banco criado pelo antigo ddl-auto=update, já com parte dos objetos da V2
+        jdbcTemplate.execute("CREATE TABLE cliente (id BIGINT PRIMARY KEY, birth_date DATE, cpf VARCHAR(255),"
+                + " email VARCHAR(255), name VARCHAR(255), phone VARCHAR(255), version BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE endereco (id BIGINT PRIMARY KEY, city VARCHAR(100), neighborhood VARCHAR(100),"
+                + " number VARCHAR(255), state VARCHAR(255), street VARCHAR(255), zip_code VARCHAR(255),"
+                + " cliente_id BIGINT REFERENCES cliente (id))");
+        jdbcTemplate.execute("CREATE INDEX idx_cliente_name ON cliente (name, id)");
+        jdbcTemplate.update("INSERT INTO cliente (id, name, email, cpf) VALUES (7, 'Ana', 'ana@example.com', '1')");
+
+        MigrateResult result = flyway(dataSource).migrate();
+
+        // V1 vira a linha de base e só as seguintes são aplicadas, sem perder dados
+        assertEquals(2, result.migrationsExecuted);
+        assertEquals("3", result.targetSchemaVersion);
+        assertTrue(indices(dataSource, "ENDERECO").containsKey("IDX_ENDERECO_CLIENTE_ID"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cliente", Integer.class));
+        // Coluna de versão adicionada onde ainda não existia
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(version) FROM endereco", Integer.class));
+        // Registros anteriores ao feed de alterações recebem o instante da migração
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cliente WHERE updated_at IS NOT NULL",
+                Integer.class));
+    }
+
+    private static Flyway flyway(DataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private static DataSource novoBanco() {
+        return new DriverManagerDataSource("jdbc:h2:mem:migracao-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // Índices não únicos da tabela: nome -> colunas na ordem do índice
+    private static Map<String, List<String>> indices(DataSource dataSource, String tabela) throws Exception {
+        Map<String, List<String>> indices = new HashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet rs = metaData.getIndexInfo(null, "PUBLIC", tabela, false, false)) {
+                while (rs.next()) {
+                    if (rs.getBoolean("NON_UNIQUE")) {
+                        indices.computeIfAbsent(rs.getString("INDEX_NAME"), nome -> new ArrayList<>())
+                                .add(rs.getString("COLUMN_NAME"));
+                    }
+                }
+            }
+        }
+        return indices;
+    }
+}
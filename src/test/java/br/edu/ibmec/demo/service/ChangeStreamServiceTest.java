@@ -0,0 +1,158 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.dto.ChangeDTO;
+import br.edu.ibmec.demo.exception.ServiceUnavailableException;
+import br.edu.ibmec.demo.model.Tombstone;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeStreamServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private EmitterLento emitter;
+
+    private ChangeStreamService changeStreamService;
+
+    @BeforeEach
+    public void setUp() {
+        emitter = new EmitterLento();
+        changeStreamService = new ChangeStreamService() {
+            @Override
+            SseEmitter criarEmitter(long timeoutMillis) {
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(changeStreamService, "meterRegistry", registry);
+        ReflectionTestUtils.setField(changeStreamService, "tamanhoFila", 3);
+        ReflectionTestUtils.setField(changeStreamService, "heartbeat", Duration.ofHours(1));
+        ReflectionTestUtils.invokeMethod(changeStreamService, "iniciar");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        emitter.liberar.countDown();
+        ReflectionTestUtils.invokeMethod(changeStreamService, "encerrar");
+    }
+
+    @Test
+    public void testSlowSubscriberDropsOldestWithoutBlockingPublisher() throws Exception {
+        changeStreamService.assinar(null);
+
+        // O primeiro evento fica preso no envio (cliente que não lê)
+        changeStreamService.publicar(alteracao(1L));
+        assertTrue(emitter.enviando.await(5, TimeUnit.SECONDS));
+
+        // Quem publica não espera o cliente: a fila de 3 fica com os mais recentes
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (long id = 2; id <= 6; id++) {
+                changeStreamService.publicar(alteracao(id));
+            }
+        });
+        assertEquals(2.0, registry.get("app.stream.dropped").counter().count());
+
+        emitter.liberar.countDown();
+        long limite = System.currentTimeMillis() + 5000;
+        while (emitter.recebidos.size() < 4 && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(1L, 4L, 5L, 6L), emitter.recebidos);
+    }
+
+    @Test
+    public void testConcurrentPublishersKeepIdOrder() throws Exception {
+        ReflectionTestUtils.setField(changeStreamService, "tamanhoFila", 10_000);
+        emitter.liberar.countDown();
+        changeStreamService.assinar(null);
+
+        // Publicações simultâneas: cada assinante recebe todos os eventos, sem repetição e na ordem dos IDs
+        int threads = 8;
+        int porThread = 250;
+        ExecutorService publicadores = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            publicadores.execute(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < porThread; i++) {
+                    changeStreamService.publicar(alteracao((long) i));
+                }
+            });
+        }
+        largada.countDown();
+        publicadores.shutdown();
+        assertTrue(publicadores.awaitTermination(10, TimeUnit.SECONDS));
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (emitter.ids.size() < threads * porThread && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(LongStream.rangeClosed(1, threads * porThread).boxed().toList(), emitter.ids);
+    }
+
+    @Test
+    public void testSubscriberLimit() {
+        ReflectionTestUtils.setField(changeStreamService, "maxAssinantes", 1);
+        changeStreamService.assinar(null);
+
+        Exception exception = assertThrows(ServiceUnavailableException.class, () -> changeStreamService.assinar(null));
+        assertEquals("Limite de conexões do stream atingido. Tente novamente.", exception.getMessage());
+        assertEquals(1.0, registry.get("app.stream.subscribers").gauge().value());
+    }
+
+    private static ChangeDTO alteracao(Long id) {
+        return new ChangeDTO(Tombstone.ENDERECO, ChangeDTO.UPSERT, id, null, Instant.now());
+    }
+
+    // Emissor cujo envio bloqueia até ser liberado, como uma conexão com o buffer TCP cheio
+    private static class EmitterLento extends SseEmitter {
+
+        private static final Pattern ID_SSE = Pattern.compile("^id:[^\\n]*-(\\d+)\\n");
+
+        private final CountDownLatch enviando = new CountDownLatch(1);
+        private final CountDownLatch liberar = new CountDownLatch(1);
+        private final List<Long> recebidos = new CopyOnWriteArrayList<>();
+        // Número de cada evento enviado (o ID SSE é "<execução>-<número>")
+        private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            enviando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            builder.build().stream()
+                    .filter(parte -> parte.getData() instanceof ChangeDTO)
+                    .forEach(parte -> recebidos.add(((ChangeDTO) parte.getData()).getId()));
+            builder.build().stream()
+                    .map(parte -> ID_SSE.matcher(parte.getData().toString()))
+                    .filter(Matcher::find)
+                    .forEach(id -> ids.add(Long.parseLong(id.group(1))));
+        }
+    }
+}
@@ -1,20 +1,42 @@
 package br.edu.ibmec.demo.service;
 
 import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.CursorPageDTO;
 import br.edu.ibmec.demo.exception.BadRequestException;
+import br.edu.ibmec.demo.exception.PreconditionFailedException;
 import br.edu.ibmec.demo.exception.ResourceNotFoundException;
 import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.model.Tombstone;
+import br.edu.ibmec.demo.repository.ClienteProjection;
 import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.repository.TombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +46,27 @@ public class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private EnderecoRepository enderecoRepository;
+
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheEvictionService cacheEvictionService;
+
+    // Cache de segundo nível vazio: a leitura por ID usa o entity graph
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManager entityManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(registry, mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ClienteService clienteService;
 
@@ -50,7 +93,7 @@ public class ClienteServiceTest {
         cliente.setPhone(clienteDTO.getPhone());
 
         // Configurando o comportamento do mock
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(cliente);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(cliente);
 
         // Executando o método de teste
         ClienteDTO result = clienteService.addCliente(clienteDTO);
@@ -59,7 +102,7 @@ public class ClienteServiceTest {
         assertNotNull(result);
         assertEquals(clienteDTO.getName(), result.getName());
         assertEquals(clienteDTO.getEmail(), result.getEmail());
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -73,7 +116,10 @@ public class ClienteServiceTest {
         clienteDTO.setPhone("(11) 99999-9999");
 
         // Simula o comportamento do repositório quando o email já existe
-        when(clienteRepository.findByEmail(clienteDTO.getEmail())).thenReturn(Optional.of(new Cliente()));
+        Cliente existente = new Cliente();
+        existente.setId(2L);
+        existente.setEmail(clienteDTO.getEmail());
+        when(clienteRepository.findByEmailOrCpf(clienteDTO.getEmail(), clienteDTO.getCpf())).thenReturn(List.of(existente));
 
         // Verifica se a exceção é lançada corretamente
         Exception exception = assertThrows(BadRequestException.class, () -> {
@@ -81,7 +127,7 @@ public class ClienteServiceTest {
         });
 
         assertEquals("O email fornecido já está em uso.", exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -95,7 +141,10 @@ public class ClienteServiceTest {
         clienteDTO.setPhone("(11) 99999-9999");
 
         // Simula o comportamento do repositório quando o CPF já existe
-        when(clienteRepository.findByCpf(clienteDTO.getCpf())).thenReturn(Optional.of(new Cliente()));
+        Cliente existente = new Cliente();
+        existente.setId(2L);
+        existente.setCpf(clienteDTO.getCpf());
+        when(clienteRepository.findByEmailOrCpf(clienteDTO.getEmail(), clienteDTO.getCpf())).thenReturn(List.of(existente));
 
         // Verifica se a exceção é lançada corretamente
         Exception exception = assertThrows(BadRequestException.class, () -> {
@@ -103,7 +152,7 @@ public class ClienteServiceTest {
         });
 
         assertEquals("O CPF fornecido já está em uso.", exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -117,7 +166,7 @@ public class ClienteServiceTest {
         cliente.setCpf("123.456.789-00");
 
         // Configurar o mock para retornar o cliente ao buscar por ID
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
+        when(clienteRepository.findWithEnderecosById(clienteId)).thenReturn(Optional.of(cliente));
 
         // Executar o método de teste
         ClienteDTO result = clienteService.getClienteById(clienteId);
@@ -126,14 +175,65 @@ public class ClienteServiceTest {
         assertNotNull(result);
         assertEquals(cliente.getEmail(), result.getEmail());
         assertEquals(cliente.getCpf(), result.getCpf());
-        verify(clienteRepository, times(1)).findById(clienteId);
+        verify(clienteRepository, times(1)).findWithEnderecosById(clienteId);
+    }
+
+    @Test
+    public void testGetClienteById_ConcurrentCallsShareOneQuery() throws Exception {
+        Long clienteId = 1L;
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        cliente.setName("John Doe");
+
+        // A consulta fica presa até todas as outras chamadas chegarem
+        CountDownLatch consultando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(clienteRepository.findWithEnderecosById(clienteId)).thenAnswer(invocation -> {
+            consultando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.of(cliente);
+        });
+
+        int chamadas = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(chamadas);
+        try {
+            List<Future<ClienteDTO>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> clienteService.getClienteById(clienteId)));
+            assertTrue(consultando.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < chamadas; i++) {
+                resultados.add(executor.submit(() -> clienteService.getClienteById(clienteId)));
+            }
+            long limite = System.currentTimeMillis() + 5000;
+            while (coalescidas() < chamadas - 1 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            liberar.countDown();
+
+            // Uma consulta e uma conversão: todos recebem o mesmo DTO
+            ClienteDTO primeiro = resultados.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ClienteDTO> resultado : resultados) {
+                assertSame(primeiro, resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(clienteRepository, times(1)).findWithEnderecosById(clienteId);
+        assertEquals(chamadas - 1, coalescidas());
+
+        // Terminada a carga, a chamada seguinte consulta de novo (não é cache)
+        clienteService.getClienteById(clienteId);
+        verify(clienteRepository, times(2)).findWithEnderecosById(clienteId);
+    }
+
+    private double coalescidas() {
+        return registry.counter(SingleFlight.COALESCED, "operation", SingleFlight.CLIENTE).count();
     }
 
     @Test
     public void testGetClienteById_NotFound() {
         // Simula o comportamento do repositório quando o ID não é encontrado
         Long clienteId = 1L;
-        when(clienteRepository.findById(clienteId)).thenReturn(Optional.empty());
+        when(clienteRepository.findWithEnderecosById(clienteId)).thenReturn(Optional.empty());
 
         // Verifica se a exceção é lançada corretamente
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -141,32 +241,67 @@ public class ClienteServiceTest {
         });
 
         assertEquals("Cliente com ID " + clienteId + " não encontrado", exception.getMessage());
-        verify(clienteRepository, times(1)).findById(clienteId);
+        verify(clienteRepository, times(1)).findWithEnderecosById(clienteId);
     }
 
     @Test
     public void testGetAllClientes_Success() {
         // Dados de exemplo para o teste
-        List<Cliente> clientes = new ArrayList<>();
-        Cliente cliente1 = new Cliente();
-        cliente1.setName("John Doe");
-
-        Cliente cliente2 = new Cliente();
-        cliente2.setName("Jane Smith");
+        List<ClienteProjection> clientes = new ArrayList<>();
+        clientes.add(new ClienteProjection(1L, 0L, "John Doe", null, null, null, null, null, null));
+        clientes.add(new ClienteProjection(2L, 0L, "Jane Smith", null, null, null, null, null, null));
 
-        clientes.add(cliente1);
-        clientes.add(cliente2);
-
-        // Configurar o mock para retornar uma lista de clientes
-        when(clienteRepository.findAll()).thenReturn(clientes);
+        // Configurar o mock para retornar uma página de clientes
+        when(clienteRepository.findProjectionsAfter(0L, Limit.of(21))).thenReturn(clientes);
 
         // Executar o método de teste
-        List<ClienteDTO> result = clienteService.getAllClientes();
+        CursorPageDTO<ClienteDTO> result = clienteService.getAllClientes(null, 20);
 
         // Verificar os resultados
         assertNotNull(result);
-        assertEquals(2, result.size());
-        verify(clienteRepository, times(1)).findAll();
+        assertEquals(2, result.getItems().size());
+        assertEquals("Jane Smith", result.getItems().get(1).getName());
+        assertNull(result.getNextCursor());
+        verify(clienteRepository, times(1)).findProjectionsAfter(0L, Limit.of(21));
+        // Os endereços da página inteira vêm de uma única consulta
+        verify(enderecoRepository, times(1)).findProjectionsByClienteIdIn(List.of(1L, 2L));
+        verify(clienteRepository, never()).findAll();
+    }
+
+    @Test
+    public void testGetAllClientes_NextCursor() {
+        // Três clientes retornados para uma página de tamanho 2: existe próxima página
+        List<ClienteProjection> clientes = new ArrayList<>();
+        for (long id = 11; id <= 13; id++) {
+            clientes.add(new ClienteProjection(id, 0L, null, null, null, null, null, null, null));
+        }
+
+        when(clienteRepository.findProjectionsAfter(10L, Limit.of(3))).thenReturn(clientes);
+
+        CursorPageDTO<ClienteDTO> result = clienteService.getAllClientes(10L, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(12L, result.getNextCursor());
+    }
+
+    @Test
+    public void testGetAllClientes_LimitAboveMaximum() {
+        // O limite solicitado é reduzido ao máximo permitido pelo servidor
+        when(clienteRepository.findProjectionsAfter(0L, Limit.of(101))).thenReturn(new ArrayList<>());
+
+        CursorPageDTO<ClienteDTO> result = clienteService.getAllClientes(null, 5000);
+
+        assertEquals(100, result.getLimit());
+        verify(clienteRepository, times(1)).findProjectionsAfter(0L, Limit.of(101));
+    }
+
+    @Test
+    public void testGetAllClientes_InvalidLimit() {
+        Exception exception = assertThrows(BadRequestException.class, () -> {
+            clienteService.getAllClientes(null, 0);
+        });
+
+        assertEquals("O parâmetro limit deve ser maior que zero.", exception.getMessage());
     }
 
     @Test
@@ -182,7 +317,7 @@ public class ClienteServiceTest {
 
         // Configurar o mock para encontrar o cliente e atualizá-lo
         when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(clienteExistente));
-        when(clienteRepository.save(any(Cliente.class))).thenReturn(clienteExistente);
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteExistente);
 
         // Executar o método de teste
         ClienteDTO result = clienteService.updateCliente(clienteId, clienteDTO);
@@ -191,7 +326,111 @@ public class ClienteServiceTest {
         assertNotNull(result);
         assertEquals(clienteDTO.getName(), result.getName());
         verify(clienteRepository, times(1)).findById(clienteId);
-        verify(clienteRepository, times(1)).save(any(Cliente.class));
+        verify(clienteRepository, times(1)).saveAndFlush(any(Cliente.class));
+        verify(cacheEvictionService, times(1)).evictCliente(clienteId);
+    }
+
+    @Test
+    public void testUpdateCliente_VersionMismatch() {
+        Long clienteId = 1L;
+        Cliente clienteExistente = new Cliente();
+        clienteExistente.setId(clienteId);
+        clienteExistente.setVersion(3L);
+
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setName("Novo Nome");
+
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(clienteExistente));
+
+        // A versão informada (If-Match) é anterior à atual: nada é gravado
+        assertThrows(PreconditionFailedException.class, () -> clienteService.updateCliente(clienteId, clienteDTO, 2L));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+        verify(cacheEvictionService, never()).evictCliente(any());
+    }
+
+    @Test
+    public void testAddCliente_SingleUniquenessQuery() {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setName("John Doe");
+        clienteDTO.setEmail("johndoe@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+        clienteDTO.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        clienteService.addCliente(clienteDTO);
+
+        // Email e CPF verificados em uma única consulta
+        verify(clienteRepository, times(1)).findByEmailOrCpf(clienteDTO.getEmail(), clienteDTO.getCpf());
+        verify(clienteRepository, never()).findByEmail(any());
+        verify(clienteRepository, never()).findByCpf(any());
+    }
+
+    @Test
+    public void testAddCliente_UniqueConstraintViolation() {
+        // Dois cadastros concorrentes passam pela verificação; o índice único barra o segundo
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setName("John Doe");
+        clienteDTO.setEmail("johndoe@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+        clienteDTO.setBirthDate(LocalDate.of(1990, 1, 1));
+
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenThrow(new DataIntegrityViolationException(
+                "Duplicate entry 'johndoe@example.com' for key 'cliente.uk_cliente_email'"));
+
+        Exception exception = assertThrows(BadRequestException.class, () -> {
+            clienteService.addCliente(clienteDTO);
+        });
+
+        assertEquals("O email fornecido já está em uso.", exception.getMessage());
+    }
+
+    @Test
+    public void testUpdateCliente_UnchangedEmailAndCpfSkipLookup() {
+        Long clienteId = 1L;
+        Cliente clienteExistente = new Cliente();
+        clienteExistente.setId(clienteId);
+        clienteExistente.setEmail("johndoe@example.com");
+        clienteExistente.setCpf("123.456.789-00");
+
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setName("Novo Nome");
+        clienteDTO.setEmail("johndoe@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(clienteExistente));
+        when(clienteRepository.saveAndFlush(any(Cliente.class))).thenReturn(clienteExistente);
+
+        clienteService.updateCliente(clienteId, clienteDTO);
+
+        verify(clienteRepository, never()).findByEmailOrCpf(any(), any());
+    }
+
+    @Test
+    public void testUpdateCliente_ChangedEmailOnlyQueriesEmail() {
+        Long clienteId = 1L;
+        Cliente clienteExistente = new Cliente();
+        clienteExistente.setId(clienteId);
+        clienteExistente.setEmail("johndoe@example.com");
+        clienteExistente.setCpf("123.456.789-00");
+
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setEmail("outro@example.com");
+        clienteDTO.setCpf("123.456.789-00");
+
+        Cliente outro = new Cliente();
+        outro.setId(2L);
+        outro.setEmail("outro@example.com");
+
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(clienteExistente));
+        when(clienteRepository.findByEmailOrCpf("outro@example.com", null)).thenReturn(List.of(outro));
+
+        Exception exception = assertThrows(BadRequestException.class, () -> {
+            clienteService.updateCliente(clienteId, clienteDTO);
+        });
+
+        assertEquals("O email fornecido já está em uso por outro cliente.", exception.getMessage());
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
     }
 
     @Test
@@ -210,6 +449,32 @@ public class ClienteServiceTest {
         // Verificar os resultados
         verify(clienteRepository, times(1)).findById(clienteId);
         verify(clienteRepository, times(1)).delete(cliente);
+        verify(cacheEvictionService, times(1)).evictCliente(clienteId);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDeleteCliente_RecordsTombstones() {
+        Long clienteId = 1L;
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        Endereco endereco = new Endereco();
+        endereco.setId(7L);
+        cliente.setEnderecos(List.of(endereco));
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
+
+        clienteService.deleteCliente(clienteId);
+
+        // Um tombstone para o endereço removido em cascata e outro para o cliente
+        ArgumentCaptor<List<Tombstone>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tombstoneRepository).saveAll(captor.capture());
+        List<Tombstone> tombstones = captor.getValue();
+        assertEquals(2, tombstones.size());
+        assertEquals(Tombstone.ENDERECO, tombstones.get(0).getEntityType());
+        assertEquals(7L, tombstones.get(0).getEntityId());
+        assertEquals(clienteId, tombstones.get(0).getClienteId());
+        assertEquals(Tombstone.CLIENTE, tombstones.get(1).getEntityType());
+        assertEquals(clienteId, tombstones.get(1).getEntityId());
     }
 
     @Test
@@ -243,6 +508,78 @@ public class ClienteServiceTest {
         });
 
         assertEquals("O cliente deve ter pelo menos 18 anos.", exception.getMessage());
-        verify(clienteRepository, never()).save(any(Cliente.class));
+        verify(clienteRepository, never()).saveAndFlush(any(Cliente.class));
+    }
+
+    @Test
+    public void testAssociarEnderecos_RowCountMismatchIsConflict() {
+        Long clienteId = 1L;
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        EnderecoRepository.EnderecoDono dono = mock(EnderecoRepository.EnderecoDono.class);
+        when(dono.getId()).thenReturn(10L);
+        when(dono.getClienteId()).thenReturn(2L);
+
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
+        when(enderecoRepository.findDonos(List.of(10L))).thenReturn(List.of(dono));
+        when(enderecoRepository.associarAoCliente(eq(cliente), eq(List.of(10L)), any())).thenReturn(0);
+
+        // O UPDATE não encontrou a linha validada: a transação é desfeita sem eventos nem remoção de cache
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> clienteService.associarEnderecos(clienteId, new ArrayList<>(List.of(10L))));
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(cacheEvictionService, never()).evictCliente(any());
+    }
+
+    @Test
+    public void testDesassociarEnderecos_RowCountMismatchIsConflict() {
+        Long clienteId = 1L;
+        Cliente cliente = new Cliente();
+        cliente.setId(clienteId);
+        EnderecoRepository.EnderecoDono dono = mock(EnderecoRepository.EnderecoDono.class);
+        when(dono.getId()).thenReturn(10L);
+        when(dono.getClienteId()).thenReturn(clienteId);
+
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
+        when(enderecoRepository.findDonos(List.of(10L))).thenReturn(List.of(dono));
+        when(enderecoRepository.desassociarDoCliente(eq(cliente), eq(List.of(10L)), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> clienteService.desassociarEnderecos(clienteId, new ArrayList<>(List.of(10L))));
+        verify(tombstoneRepository, never()).saveAll(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testRemoveEnderecoFromCliente_OwnerCheckedWithoutLoadingCollection() {
+        Long clienteId = 1L;
+        Cliente cliente = spy(new Cliente());
+        cliente.setId(clienteId);
+        Cliente outroCliente = new Cliente();
+        outroCliente.setId(2L);
+        Endereco endereco = new Endereco();
+        endereco.setId(10L);
+        endereco.setCliente(cliente);
+        Endereco enderecoDeOutro = new Endereco();
+        enderecoDeOutro.setId(11L);
+        enderecoDeOutro.setCliente(outroCliente);
+        when(clienteRepository.findById(clienteId)).thenReturn(Optional.of(cliente));
+        when(enderecoRepository.findById(10L)).thenReturn(Optional.of(endereco));
+        when(enderecoRepository.findById(11L)).thenReturn(Optional.of(enderecoDeOutro));
+
+        clienteService.removeEnderecoFromCliente(clienteId, 10L);
+        assertNull(endereco.getCliente());
+        verify(enderecoRepository, times(1)).save(endereco);
+        verify(tombstoneRepository, times(1)).save(any(Tombstone.class));
+        verify(cacheEvictionService, times(1)).evictEndereco(10L);
+
+        // Endereço de outro cliente: nada é alterado
+        Exception exception = assertThrows(ResourceNotFoundException.class,
+                () -> clienteService.removeEnderecoFromCliente(clienteId, 11L));
+        assertEquals("Endereço não encontrado com o ID: 11", exception.getMessage());
+        assertEquals(outroCliente, enderecoDeOutro.getCliente());
+        verify(tombstoneRepository, times(1)).save(any(Tombstone.class));
+        verify(cliente, never()).getEnderecos();
+        verify(enderecoRepository, never()).desassociarDoCliente(any(), any(), any());
     }
 }
@@ -0,0 +1,144 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.configuration.CacheConfig;
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static br.edu.ibmec.demo.TestFixtures.novoEnderecoDTO;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class DtoCacheIntegrationTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testGetClienteById_SecondReadHitsCache() {
+        Long clienteId = clienteService.addCliente(novoClienteDTO()).getId();
+        double hitsAntes = cacheGets(CacheConfig.CLIENTES, "hit");
+
+        clienteService.getClienteById(clienteId);
+        statistics.clear();
+        ClienteDTO result = clienteService.getClienteById(clienteId);
+
+        // A segunda leitura não vai ao banco
+        assertEquals(clienteId, result.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hitsAntes + 1, cacheGets(CacheConfig.CLIENTES, "hit"));
+    }
+
+    @Test
+    public void testUpdateCliente_EvictsCliente() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        clienteService.getClienteById(cliente.getId());
+
+        cliente.setName("Nome Atualizado");
+        clienteService.updateCliente(cliente.getId(), cliente);
+
+        assertEquals("Nome Atualizado", clienteService.getClienteById(cliente.getId()).getName());
+    }
+
+    @Test
+    public void testUpdateEndereco_EvictsEnderecoAndOwner() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        enderecoService.getEnderecoById(endereco.getId());
+        clienteService.getClienteById(cliente.getId());
+
+        endereco.setStreet("Rua Nova");
+        enderecoService.updateEndereco(endereco.getId(), endereco);
+
+        assertEquals("Rua Nova", enderecoService.getEnderecoById(endereco.getId()).getStreet());
+        assertEquals("Rua Nova", clienteService.getClienteById(cliente.getId()).getEnderecos().get(0).getStreet());
+    }
+
+    @Test
+    public void testAddExistingEnderecoToCliente_EvictsBothOwners() {
+        ClienteDTO antigo = clienteService.addCliente(novoClienteDTO());
+        ClienteDTO novo = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(antigo.getId(), novoEnderecoDTO());
+        Long versao = enderecoService.getEnderecoById(endereco.getId()).getVersion();
+        assertEquals(1, clienteService.getClienteById(antigo.getId()).getEnderecos().size());
+        assertEquals(0, clienteService.getClienteById(novo.getId()).getEnderecos().size());
+
+        clienteService.addExistingEnderecoToCliente(novo.getId(), endereco.getId());
+
+        assertEquals(0, clienteService.getClienteById(antigo.getId()).getEnderecos().size());
+        assertEquals(1, clienteService.getClienteById(novo.getId()).getEnderecos().size());
+        // A troca de dono muda a versão do endereço (e o ETag): o DTO em cache também é descartado
+        assertEquals(versao + 1, enderecoService.getEnderecoById(endereco.getId()).getVersion());
+    }
+
+    @Test
+    public void testRemoveEnderecoFromCliente_EvictsClienteAndEndereco() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        Long versao = enderecoService.getEnderecoById(endereco.getId()).getVersion();
+        assertEquals(1, clienteService.getClienteById(cliente.getId()).getEnderecos().size());
+
+        clienteService.removeEnderecoFromCliente(cliente.getId(), endereco.getId());
+
+        assertEquals(0, clienteService.getClienteById(cliente.getId()).getEnderecos().size());
+        assertEquals(versao + 1, enderecoService.getEnderecoById(endereco.getId()).getVersion());
+    }
+
+    @Test
+    public void testDeleteEndereco_EvictsEnderecoAndOwner() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        enderecoService.getEnderecoById(endereco.getId());
+        assertEquals(1, clienteService.getClienteById(cliente.getId()).getEnderecos().size());
+
+        enderecoService.deleteEndereco(endereco.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> enderecoService.getEnderecoById(endereco.getId()));
+        assertEquals(0, clienteService.getClienteById(cliente.getId()).getEnderecos().size());
+    }
+
+    @Test
+    public void testDeleteCliente_EvictsClienteAndItsEnderecos() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        clienteService.getClienteById(cliente.getId());
+        enderecoService.getEnderecoById(endereco.getId());
+
+        clienteService.deleteCliente(cliente.getId());
+
+        assertThrows(ResourceNotFoundException.class, () -> clienteService.getClienteById(cliente.getId()));
+        assertThrows(ResourceNotFoundException.class, () -> enderecoService.getEnderecoById(endereco.getId()));
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -1,13 +1,18 @@
 package br.edu.ibmec.demo.service;
 
 import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.exception.BadRequestException;
 import br.edu.ibmec.demo.model.Endereco;
 import br.edu.ibmec.demo.repository.EnderecoRepository;
+import br.edu.ibmec.demo.repository.TombstoneRepository;
+import br.edu.ibmec.demo.validation.EnderecoValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.mockito.Spy;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -17,6 +22,15 @@ public class EnderecoServiceTest {
     @Mock
     private EnderecoRepository enderecoRepository;
 
+    @Mock
+    private TombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private EnderecoValidator enderecoValidator = new EnderecoValidator();
+
     @InjectMocks
     private EnderecoService enderecoService;
 
@@ -45,7 +59,7 @@ public class EnderecoServiceTest {
         endereco.setZipCode(enderecoDTO.getZipCode());
 
         // Configurando o comportamento do mock
-        when(enderecoRepository.save(any(Endereco.class))).thenReturn(endereco);
+        when(enderecoRepository.saveAndFlush(any(Endereco.class))).thenReturn(endereco);
 
         // Executando o método de teste
         EnderecoDTO result = enderecoService.addEndereco(enderecoDTO);
@@ -53,6 +67,26 @@ public class EnderecoServiceTest {
         // Verificando os resultados
         assertNotNull(result);
         assertEquals(enderecoDTO.getStreet(), result.getStreet());
-        verify(enderecoRepository, times(1)).save(any(Endereco.class));
+        verify(enderecoRepository, times(1)).saveAndFlush(any(Endereco.class));
+    }
+
+    @Test
+    public void testAddEndereco_InvalidFields() {
+        EnderecoDTO enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setStreet("Rua Exemplo");
+        enderecoDTO.setNumber("123");
+        enderecoDTO.setNeighborhood("Bairro Exemplo");
+        enderecoDTO.setCity("Cidade Exemplo");
+        enderecoDTO.setState("XX");
+        enderecoDTO.setZipCode("12345678");
+
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> {
+            enderecoService.addEndereco(enderecoDTO);
+        });
+
+        // Os erros são devolvidos por campo
+        assertEquals("Estado deve ser válido (ex.: SP, RJ)", exception.getErrors().get("state"));
+        assertEquals("CEP deve seguir o padrão XXXXX-XXX", exception.getErrors().get("zipCode"));
+        verify(enderecoRepository, never()).saveAndFlush(any(Endereco.class));
     }
 }
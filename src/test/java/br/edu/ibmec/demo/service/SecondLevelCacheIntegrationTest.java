@@ -0,0 +1,147 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import br.edu.ibmec.demo.model.CacheRegions;
+import br.edu.ibmec.demo.model.Endereco;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import br.edu.ibmec.demo.repository.EnderecoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static br.edu.ibmec.demo.TestFixtures.novoClienteDTO;
+import static br.edu.ibmec.demo.TestFixtures.novoEnderecoDTO;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private EnderecoService enderecoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EnderecoRepository enderecoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testFindById_SecondReadSkipsDatabase() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+
+        // Primeira leitura carrega o que ainda não está no cache
+        buscarEndereco(endereco.getId());
+        statistics.clear();
+
+        Endereco result = buscarEndereco(endereco.getId());
+
+        assertEquals(endereco.getStreet(), result.getStreet());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(CacheRegions.ENDERECO).getHitCount() > 0);
+    }
+
+    @Test
+    public void testEnderecosCollection_SecondReadSkipsDatabase() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+
+        assertEquals(2, enderecoService.getEnderecosByClienteId(cliente.getId()).size());
+        statistics.clear();
+
+        // Cliente, lista de endereços e endereços vêm do cache de segundo nível
+        assertEquals(2, enderecoService.getEnderecosByClienteId(cliente.getId()).size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(CacheRegions.CLIENTE).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(CacheRegions.CLIENTE_ENDERECOS).getHitCount() > 0);
+    }
+
+    @Test
+    public void testUpdateEndereco_Invalidates() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        enderecoService.getEnderecosByClienteId(cliente.getId());
+
+        endereco.setStreet("Rua Atualizada");
+        enderecoService.updateEndereco(endereco.getId(), endereco);
+
+        assertEquals("Rua Atualizada", buscarEndereco(endereco.getId()).getStreet());
+        assertEquals("Rua Atualizada", enderecoService.getEnderecosByClienteId(cliente.getId()).get(0).getStreet());
+    }
+
+    @Test
+    public void testAdicionarEDeletarEndereco_InvalidatesCollection() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO primeiro = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        assertEquals(1, enderecoService.getEnderecosByClienteId(cliente.getId()).size());
+
+        EnderecoDTO segundo = enderecoService.adicionarEnderecoAoCliente(cliente.getId(), novoEnderecoDTO());
+        assertEquals(2, enderecoService.getEnderecosByClienteId(cliente.getId()).size());
+
+        enderecoService.deleteEndereco(primeiro.getId());
+        List<EnderecoDTO> enderecos = enderecoService.getEnderecosByClienteId(cliente.getId());
+        assertEquals(1, enderecos.size());
+        assertEquals(segundo.getId(), enderecos.get(0).getId());
+    }
+
+    @Test
+    public void testMoverEndereco_InvalidatesBothCollections() {
+        ClienteDTO antigo = clienteService.addCliente(novoClienteDTO());
+        ClienteDTO novo = clienteService.addCliente(novoClienteDTO());
+        EnderecoDTO endereco = enderecoService.adicionarEnderecoAoCliente(antigo.getId(), novoEnderecoDTO());
+        assertEquals(1, enderecoService.getEnderecosByClienteId(antigo.getId()).size());
+        assertEquals(0, enderecoService.getEnderecosByClienteId(novo.getId()).size());
+
+        clienteService.addExistingEnderecoToCliente(novo.getId(), endereco.getId());
+        assertEquals(0, enderecoService.getEnderecosByClienteId(antigo.getId()).size());
+        assertEquals(1, enderecoService.getEnderecosByClienteId(novo.getId()).size());
+
+        clienteService.removeEnderecoFromCliente(novo.getId(), endereco.getId());
+        assertEquals(0, enderecoService.getEnderecosByClienteId(novo.getId()).size());
+    }
+
+    @Test
+    public void testUpdateCliente_Invalidates() {
+        ClienteDTO cliente = clienteService.addCliente(novoClienteDTO());
+        clienteService.getClienteById(cliente.getId());
+
+        cliente.setName("Nome Atualizado");
+        clienteService.updateCliente(cliente.getId(), cliente);
+
+        // Lê a entidade diretamente, sem passar pelo cache de DTOs
+        String nome = transactionTemplate.execute(status ->
+                clienteRepository.findById(cliente.getId()).orElseThrow().getName());
+        assertEquals("Nome Atualizado", nome);
+    }
+
+    private Endereco buscarEndereco(Long id) {
+        return transactionTemplate.execute(status -> enderecoRepository.findById(id).orElseThrow());
+    }
+}
@@ -0,0 +1,109 @@
+package br.edu.ibmec.demo.service;
+
+import br.edu.ibmec.demo.dto.ClienteDTO;
+import br.edu.ibmec.demo.model.Cliente;
+import br.edu.ibmec.demo.repository.ClienteRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static br.edu.ibmec.demo.TestFixtures.novoCliente;
+import static org.junit.jupiter.api.Assertions.*;
+
+// O inspector segura a consulta do cliente para que as outras chamadas cheguem enquanto a carga está em andamento
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "br.edu.ibmec.demo.service.SingleFlightIntegrationTest$ConsultaBloqueada")
+@ActiveProfiles("test")
+public class SingleFlightIntegrationTest {
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public static class ConsultaBloqueada implements StatementInspector {
+
+        static final AtomicBoolean ARMADA = new AtomicBoolean();
+        static final CountDownLatch CONSULTANDO = new CountDownLatch(1);
+        static final CountDownLatch LIBERAR = new CountDownLatch(1);
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains(" from cliente ") && ARMADA.compareAndSet(true, false)) {
+                CONSULTANDO.countDown();
+                try {
+                    LIBERAR.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return sql;
+        }
+    }
+
+    @Test
+    public void testFollowersDoNotHoldConnections() throws Exception {
+        Cliente cliente = clienteRepository.save(novoCliente(0));
+        Long id = cliente.getId();
+        // Sem o cliente no cache de segundo nível: a carga precisa ir ao banco
+        entityManagerFactory.getCache().evictAll();
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        int chamadas = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(chamadas);
+        try {
+            ConsultaBloqueada.ARMADA.set(true);
+            List<Future<ClienteDTO>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> clienteService.getClienteById(id)));
+            assertTrue(ConsultaBloqueada.CONSULTANDO.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < chamadas; i++) {
+                resultados.add(executor.submit(() -> clienteService.getClienteById(id)));
+            }
+            long limite = System.currentTimeMillis() + 5000;
+            while (coalescidas() < chamadas - 1 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            assertEquals(chamadas - 1, coalescidas());
+
+            // Só a carga em andamento ocupa conexão; as chamadas que esperam por ela não abriram transação
+            assertEquals(1, pool.getHikariPoolMXBean().getActiveConnections());
+
+            ConsultaBloqueada.LIBERAR.countDown();
+            for (Future<ClienteDTO> resultado : resultados) {
+                assertEquals(cliente.getName(), resultado.get(5, TimeUnit.SECONDS).getName());
+            }
+        } finally {
+            ConsultaBloqueada.LIBERAR.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private double coalescidas() {
+        return meterRegistry.counter(SingleFlight.COALESCED, "operation", SingleFlight.CLIENTE).count();
+    }
+}
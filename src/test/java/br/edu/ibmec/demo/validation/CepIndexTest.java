@@ -0,0 +1,112 @@
+package br.edu.ibmec.demo.validation;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CepIndexTest {
+
+    private static CepIndex cepIndex;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        cepIndex = carregarArquivoPadrao();
+    }
+
+    static CepIndex carregarArquivoPadrao() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                CepIndexTest.class.getResourceAsStream("/cep/faixas-cep.csv"), StandardCharsets.UTF_8)) {
+            return CepIndex.criar(reader);
+        }
+    }
+
+    @Test
+    public void testBuscar_CapitaisEInterior() {
+        int saoPaulo = cepIndex.buscar("01001-000");
+        assertEquals("SP", cepIndex.uf(saoPaulo));
+        assertEquals("São Paulo", cepIndex.cidade(saoPaulo));
+
+        // Interior de SP: a faixa só identifica a UF
+        int interior = cepIndex.buscar("13010-000");
+        assertEquals("SP", cepIndex.uf(interior));
+        assertNull(cepIndex.cidade(interior));
+
+        // Segunda faixa da capital, separada da primeira por CEPs da Grande São Paulo
+        assertNull(cepIndex.cidade(cepIndex.buscar("07000-000")));
+        assertEquals("São Paulo", cepIndex.cidade(cepIndex.buscar("08000-000")));
+
+        assertEquals("RJ", cepIndex.uf(cepIndex.buscar("28654-321")));
+        assertEquals("Rio de Janeiro", cepIndex.cidade(cepIndex.buscar("20071-001")));
+        assertEquals("Belo Horizonte", cepIndex.cidade(cepIndex.buscar("30130010")));
+        assertEquals("Porto Alegre", cepIndex.cidade(cepIndex.buscar("91999-999")));
+        assertEquals("RS", cepIndex.uf(cepIndex.buscar("99999-999")));
+    }
+
+    @Test
+    public void testBuscar_ForaDasFaixasOuInvalido() {
+        assertEquals(-1, cepIndex.buscar("00999-999"));
+        assertEquals(-1, cepIndex.buscar("0100-1000"));
+        assertEquals(-1, cepIndex.buscar("01001-00a"));
+        assertEquals(-1, cepIndex.buscar(""));
+    }
+
+    @Test
+    public void testBuscar_UfsComFaixasNaoContiguas() {
+        assertEquals("AM", cepIndex.uf(cepIndex.buscar("69050-000")));
+        assertEquals("RR", cepIndex.uf(cepIndex.buscar("69301-000")));
+        assertEquals("AM", cepIndex.uf(cepIndex.buscar("69400-000")));
+        assertEquals("GO", cepIndex.uf(cepIndex.buscar("72800-000")));
+        assertEquals("Brasília", cepIndex.cidade(cepIndex.buscar("73000-000")));
+        assertEquals("GO", cepIndex.uf(cepIndex.buscar("73700-000")));
+    }
+
+    @Test
+    public void testMesmaCidade_IgnoraAcentosEMaiusculas() {
+        int posicao = cepIndex.buscar("01001-000");
+        assertTrue(cepIndex.mesmaCidade(posicao, "São Paulo"));
+        assertTrue(cepIndex.mesmaCidade(posicao, " SAO PAULO "));
+        assertFalse(cepIndex.mesmaCidade(posicao, "Santos"));
+        assertFalse(cepIndex.mesmaCidade(posicao, "São Paulo do Potengi"));
+        // Faixa sem cidade aceita qualquer cidade da UF
+        assertTrue(cepIndex.mesmaCidade(cepIndex.buscar("13010-000"), "Campinas"));
+    }
+
+    @Test
+    public void testCriar_FaixasAninhadasViramSegmentosDisjuntos() throws IOException {
+        CepIndex index = CepIndex.criar(new StringReader("""
+                # comentário
+                10000-000,19999-999,SP,
+                10000-000,10999-999,SP,Cidade A
+                15000-000,15999-999,SP,Cidade B
+                """));
+
+        // [10000-000, 10999-999] A, [11000-000, 14999-999] SP, [15000-000, 15999-999] B, [16000-000, 19999-999] SP
+        assertEquals(4, index.tamanho());
+        assertEquals("Cidade A", index.cidade(index.buscar("10000-000")));
+        assertNull(index.cidade(index.buscar("11000-000")));
+        assertEquals("Cidade B", index.cidade(index.buscar("15999-999")));
+        assertNull(index.cidade(index.buscar("19999-999")));
+        assertEquals(-1, index.buscar("20000-000"));
+    }
+
+    @Test
+    public void testCriar_RejeitaFaixasInconsistentes() {
+        assertThrows(IllegalArgumentException.class, () -> CepIndex.criar(new StringReader("""
+                10000-000,19999-999,SP,
+                15000-000,25999-999,RJ,
+                """)));
+        assertThrows(IllegalArgumentException.class, () -> CepIndex.criar(new StringReader("""
+                10000-000,19999-999,SP,
+                15000-000,15999-999,RJ,Cidade
+                """)));
+        assertThrows(IllegalArgumentException.class, () -> CepIndex.criar(new StringReader("19999-999,10000-000,SP,")));
+        assertThrows(IllegalArgumentException.class, () -> CepIndex.criar(new StringReader("10000-000,19999-999,XX,")));
+    }
+}
@@ -0,0 +1,104 @@
+package br.edu.ibmec.demo.validation;
+
+import br.edu.ibmec.demo.dto.EnderecoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnderecoValidatorTest {
+
+    private EnderecoValidator enderecoValidator;
+
+    private EnderecoDTO enderecoDTO;
+
+    @BeforeEach
+    public void setUp() {
+        enderecoValidator = new EnderecoValidator();
+
+        enderecoDTO = new EnderecoDTO();
+        enderecoDTO.setStreet("Rua Exemplo");
+        enderecoDTO.setNumber("123A");
+        enderecoDTO.setNeighborhood("Centro");
+        enderecoDTO.setCity("São Paulo");
+        enderecoDTO.setState("SP");
+        enderecoDTO.setZipCode("01001-000");
+    }
+
+    @Test
+    public void testValidar_EnderecoValido() {
+        assertTrue(enderecoValidator.validar(enderecoDTO).isEmpty());
+    }
+
+    @Test
+    public void testValidar_TodasAsUfs() {
+        for (String uf : EnderecoValidator.UFS) {
+            assertTrue(EnderecoValidator.isUf(uf), uf);
+        }
+        assertFalse(EnderecoValidator.isUf("XX"));
+        assertFalse(EnderecoValidator.isUf("sp"));
+        assertFalse(EnderecoValidator.isUf("S"));
+        assertFalse(EnderecoValidator.isUf("SPX"));
+        assertFalse(EnderecoValidator.isUf("S["));
+    }
+
+    @Test
+    public void testValidar_Cep() {
+        assertTrue(EnderecoValidator.isCep("12345-678"));
+        assertFalse(EnderecoValidator.isCep("12345678"));
+        assertFalse(EnderecoValidator.isCep("1234-5678"));
+        assertFalse(EnderecoValidator.isCep("12345-67a"));
+        assertFalse(EnderecoValidator.isCep("12345-6789"));
+    }
+
+    @Test
+    public void testValidar_Numero() {
+        assertTrue(EnderecoValidator.isAlfanumerico("10_B"));
+        assertFalse(EnderecoValidator.isAlfanumerico("10-B"));
+        assertFalse(EnderecoValidator.isAlfanumerico("10 B"));
+    }
+
+    @Test
+    public void testValidar_ErrosPorCampo() {
+        enderecoDTO.setStreet(" ");
+        enderecoDTO.setNumber("1/2");
+        enderecoDTO.setNeighborhood(null);
+        enderecoDTO.setCity("Rio".repeat(40));
+        enderecoDTO.setState("XX");
+        enderecoDTO.setZipCode("12345678");
+
+        Map<String, String> errors = enderecoValidator.validar(enderecoDTO);
+
+        assertEquals("Rua é obrigatória", errors.get("street"));
+        assertEquals("Número deve ser um valor numérico ou alfanumérico", errors.get("number"));
+        assertEquals("Bairro é obrigatório", errors.get("neighborhood"));
+        assertEquals("Cidade deve ter entre 3 e 100 caracteres", errors.get("city"));
+        assertEquals("Estado deve ser válido (ex.: SP, RJ)", errors.get("state"));
+        assertEquals("CEP deve seguir o padrão XXXXX-XXX", errors.get("zipCode"));
+    }
+
+    @Test
+    public void testValidar_CepConferidoComFaixas() throws IOException {
+        EnderecoValidator comFaixas = new EnderecoValidator(CepIndexTest.carregarArquivoPadrao());
+        assertTrue(comFaixas.validar(enderecoDTO).isEmpty());
+
+        enderecoDTO.setCity("sao paulo");
+        assertTrue(comFaixas.validar(enderecoDTO).isEmpty());
+
+        enderecoDTO.setCity("Santos");
+        assertEquals("CEP pertence à cidade São Paulo", comFaixas.validar(enderecoDTO).get("zipCode"));
+
+        enderecoDTO.setZipCode("20071-001");
+        assertEquals("CEP pertence ao estado RJ", comFaixas.validar(enderecoDTO).get("zipCode"));
+
+        enderecoDTO.setZipCode("00100-000");
+        assertEquals("CEP inexistente", comFaixas.validar(enderecoDTO).get("zipCode"));
+
+        // Interior: só a UF é conferida
+        enderecoDTO.setZipCode("11010-000");
+        assertTrue(comFaixas.validar(enderecoDTO).isEmpty());
+    }
+}